@@ -1,7 +1,10 @@
 package com.matawan.nicefc;
 
+import com.matawan.nicefc.config.NicefcRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.ImportRuntimeHints;
 /**
  * The main class for the Nicefc Application.
  *
@@ -11,21 +14,27 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * {@link org.springframework.context.annotation.ComponentScan ComponentScan}, and
  * {@link org.springframework.boot.autoconfigure.SpringBootApplication SpringBootApplication} itself.
  *
- * <p>The {@code main} method starts the Spring Boot application using {@link SpringApplication#run(Class, String...)}.
+ * <p>The {@code main} method starts the Spring Boot application using {@link SpringApplication#run(String...)},
+ * recording the steps of its startup for {@code GET /actuator/startup}. The {@link NicefcRuntimeHints} complete the
+ * hints Spring AOT infers when the application is built as a native image by the {@code native} Maven profile.
  *
  * @see SpringBootApplication
  */
 @SpringBootApplication
+@ImportRuntimeHints(NicefcRuntimeHints.class)
 public class NicefcApplication {
 	/**
 	 * The main method that starts the Nicefc Application.
 	 *
-	 * <p>This method uses {@link SpringApplication#run(Class, String...)} to start the Spring Boot application.
+	 * <p>This method uses {@link SpringApplication#run(String...)} to start the Spring Boot application, with a
+	 * {@link BufferingApplicationStartup} keeping the startup steps behind the per-phase startup timings.
 	 *
 	 * @param args The command-line arguments passed to the application.
 	 */
 	public static void main(String[] args) {
-		SpringApplication.run(NicefcApplication.class, args);
+		SpringApplication application = new SpringApplication(NicefcApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,89 @@
+package com.matawan.nicefc.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code HibernateCacheEndpoint} class exposes the statistics of the Hibernate second-level and query caches
+ * as the {@code hibernatecache} actuator endpoint: {@code GET /actuator/hibernatecache} reports the hits, misses
+ * and puts of each region together with the database round trips they saved, and
+ * {@code DELETE /actuator/hibernatecache} resets the statistics before measuring a new load.
+ *
+ * <p>Each second-level cache hit is an entity or collection load that did not reach the database,
+ * and each query cache hit is a query that was not executed.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+    private final Statistics statistics;
+
+    /**
+     * Constructs a new HibernateCacheEndpoint.
+     *
+     * @param entityManagerFactory The factory whose statistics are reported.
+     */
+    @Autowired
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Describes the activity of the caches since the statistics were last reset.
+     *
+     * @return The cache statistics, overall and per region.
+     */
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        description.put("roundTripsSaved", statistics.getSecondLevelCacheHitCount() + statistics.getQueryCacheHitCount());
+        description.put("secondLevelCache", counts(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        description.put("queryCache", counts(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        description.put("queriesExecuted", statistics.getQueryExecutionCount());
+        description.put("entitiesLoaded", statistics.getEntityLoadCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        String[] regionNames = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regionNames);
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                Map<String, Object> regionCounts = counts(region.getHitCount(), region.getMissCount(), region.getPutCount());
+                regionCounts.put("elementsInMemory", region.getElementCountInMemory());
+                regions.put(regionName, regionCounts);
+            }
+        }
+        description.put("regions", regions);
+        return description;
+    }
+
+    /**
+     * Resets the statistics of the caches.
+     */
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    private static Map<String, Object> counts(long hits, long misses, long puts) {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("hits", hits);
+        counts.put("misses", misses);
+        counts.put("puts", puts);
+        return counts;
+    }
+}
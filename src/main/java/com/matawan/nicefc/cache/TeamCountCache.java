@@ -0,0 +1,112 @@
+package com.matawan.nicefc.cache;
+
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import com.matawan.nicefc.repository.TeamRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code TeamCountCache} class keeps the total number of teams in memory so that paged listings
+ * do not run a {@code COUNT(*)} on every request.
+ *
+ * <p>The count is loaded from the database on first use, incremented each time a team creation commits,
+ * and reloaded once it is older than the configured time to live, which bounds the drift caused by
+ * writes made by other instances or directly in the database.
+ *
+ * <p>Count queries are reported by the {@code nicefc.teams.count.queries} counter, tagged with
+ * {@code outcome=executed}, {@code outcome=cached} or {@code outcome=skipped}.
+ *
+ * <p>The count is guarded by a {@link ReentrantLock} rather than {@code synchronized}, so that a virtual thread
+ * waiting for the count query does not pin its carrier thread.
+ */
+@Component
+public class TeamCountCache {
+
+    private final TeamRepository teamRepository;
+    private final Duration timeToLive;
+    private final Counter executedCounter;
+    private final Counter cachedCounter;
+    private final Counter skippedCounter;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long count;
+    private long loadedAtNanos;
+    private boolean loaded;
+
+    /**
+     * Constructs a new TeamCountCache.
+     *
+     * @param teamRepository The repository used to load the count.
+     * @param meterRegistry  The registry the count query counters are registered in.
+     * @param timeToLive     How long a loaded count is trusted before being reloaded.
+     */
+    @Autowired
+    public TeamCountCache(TeamRepository teamRepository, MeterRegistry meterRegistry,
+                          @Value("${nicefc.teams.count-ttl:30s}") Duration timeToLive) {
+        this.teamRepository = teamRepository;
+        this.timeToLive = timeToLive;
+        this.executedCounter = countQueriesCounter(meterRegistry, "executed");
+        this.cachedCounter = countQueriesCounter(meterRegistry, "cached");
+        this.skippedCounter = countQueriesCounter(meterRegistry, "skipped");
+    }
+
+    /**
+     * Retrieves the total number of teams, from memory when the cached value is still fresh.
+     *
+     * @return The total number of teams.
+     */
+    public long getCount() {
+        lock.lock();
+        try {
+            if (!loaded || System.nanoTime() - loadedAtNanos > timeToLive.toNanos()) {
+                count = teamRepository.count();
+                loadedAtNanos = System.nanoTime();
+                loaded = true;
+                executedCounter.increment();
+            } else {
+                cachedCounter.increment();
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a listing served without any total count.
+     */
+    public void countSkipped() {
+        skippedCounter.increment();
+    }
+
+    /**
+     * Increments the cached count once a team creation has been committed.
+     *
+     * @param event The event describing the created team.
+     */
+    @TransactionalEventListener
+    public void onTeamCreated(TeamCreatedEvent event) {
+        lock.lock();
+        try {
+            if (loaded) {
+                count++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Counter countQueriesCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("nicefc.teams.count.queries")
+                .description("Team count queries executed or avoided by paged listings")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.matawan.nicefc.cache;
+
+import com.matawan.nicefc.repository.TeamRepository;
+import com.matawan.nicefc.utils.bloom.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * The {@code TeamNameFilter} class keeps a {@link BloomFilter} of the registered team names in memory,
+ * so that most existence checks of a new name are answered without querying the database.
+ *
+ * <p>The filter is loaded from {@code team.name} once the application is ready and can be rebuilt on demand,
+ * for instance through the {@code teamnamefilter} actuator endpoint. It is sized for the configured number of names,
+ * or twice the number of teams when there are more, so a rebuild also resets the false positive rate.
+ * Until it is loaded, or when it is disabled, every name is reported as possibly registered.
+ *
+ * <p>Names of teams created by other instances or directly in the database are only known after a rebuild.
+ * The unique constraint on the team name remains the guard against duplicates: the filter only saves queries.
+ *
+ * <p>Lookups are reported by the {@code nicefc.teams.name.filter.checks} counter, tagged with
+ * {@code outcome=absent}, {@code outcome=possible} or {@code outcome=false_positive}, next to gauges
+ * of the memory used, the estimated number of names and the estimated false positive rate.
+ */
+@Component
+public class TeamNameFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamNameFilter.class);
+
+    private final TeamRepository teamRepository;
+    private final boolean enabled;
+    private final long expectedNames;
+    private final double falsePositiveRate;
+    private final Counter absentCounter;
+    private final Counter possibleCounter;
+    private final Counter falsePositiveCounter;
+    private final Timer rebuildTimer;
+
+    private final Object swapLock = new Object();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+
+    /**
+     * Constructs a new TeamNameFilter.
+     *
+     * @param teamRepository    The repository the registered names are loaded from.
+     * @param meterRegistry     The registry the filter metrics are registered in.
+     * @param enabled           Whether the filter is used at all.
+     * @param expectedNames     The minimal number of names the filter is sized for.
+     * @param falsePositiveRate The false positive rate expected once that number of names is reached.
+     */
+    @Autowired
+    public TeamNameFilter(TeamRepository teamRepository, MeterRegistry meterRegistry,
+                          @Value("${nicefc.teams.name-filter.enabled:true}") boolean enabled,
+                          @Value("${nicefc.teams.name-filter.expected-names:100000}") long expectedNames,
+                          @Value("${nicefc.teams.name-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.teamRepository = teamRepository;
+        this.enabled = enabled;
+        this.expectedNames = expectedNames;
+        this.falsePositiveRate = falsePositiveRate;
+        this.absentCounter = checksCounter(meterRegistry, "absent");
+        this.possibleCounter = checksCounter(meterRegistry, "possible");
+        this.falsePositiveCounter = checksCounter(meterRegistry, "false_positive");
+        this.rebuildTimer = Timer.builder("nicefc.teams.name.filter.rebuild")
+                .description("Time spent loading the team name filter from the database")
+                .register(meterRegistry);
+        filterGauge(meterRegistry, "nicefc.teams.name.filter.memory", "bytes", BloomFilter::memoryBytes);
+        filterGauge(meterRegistry, "nicefc.teams.name.filter.names", null, BloomFilter::approximateElementCount);
+        filterGauge(meterRegistry, "nicefc.teams.name.filter.fpp", null, BloomFilter::expectedFalsePositiveRate);
+    }
+
+    /**
+     * Checks whether a team name may be registered.
+     *
+     * @param teamName The name to look for.
+     * @return {@code false} if no team has this name; {@code true} if the database has to be asked.
+     */
+    public boolean mightContain(String teamName) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(teamName)) {
+            absentCounter.increment();
+            return false;
+        }
+        possibleCounter.increment();
+        return true;
+    }
+
+    /**
+     * Records names reported as possibly registered that the database did not know.
+     *
+     * @param count The number of such names.
+     */
+    public void falsePositives(int count) {
+        falsePositiveCounter.increment(count);
+    }
+
+    /**
+     * Adds the name of a created team to the filter, and to the filter being rebuilt if any.
+     * A name added by a creation that is then rolled back only costs a false positive.
+     *
+     * @param teamName The name of the created team.
+     */
+    public void put(String teamName) {
+        synchronized (swapLock) {
+            if (filter != null) {
+                filter.put(teamName);
+            }
+            if (building != null) {
+                building.put(teamName);
+            }
+        }
+    }
+
+    /**
+     * Loads a new filter from the names of all teams, then replaces the current one.
+     * Lookups keep using the current filter while the names are read. Concurrent rebuilds wait on a
+     * {@link ReentrantLock} rather than a monitor, so that a virtual thread reading the names does not pin its carrier.
+     * The names are read within a read-write transaction so that they come from the primary even when read replicas
+     * are configured: a name missing from a lagging replica would be wrongly reported as absent.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedNames, 2 * teamRepository.count()), falsePositiveRate);
+            synchronized (swapLock) {
+                building = rebuilt;
+            }
+            try (Stream<String> names = teamRepository.streamAllNames()) {
+                names.forEach(rebuilt::put);
+                synchronized (swapLock) {
+                    filter = rebuilt;
+                }
+            } finally {
+                synchronized (swapLock) {
+                    building = null;
+                }
+            }
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.info("team name filter rebuilt: {} names, {} bytes, {} hash functions",
+                    rebuilt.approximateElementCount(), rebuilt.memoryBytes(), rebuilt.hashCount());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the filter currently answering lookups.
+     *
+     * @return The current filter, or {@code null} if it is disabled or not loaded yet.
+     */
+    public BloomFilter getFilter() {
+        return filter;
+    }
+
+    private static Counter checksCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("nicefc.teams.name.filter.checks")
+                .description("Team name existence checks answered by the name filter or passed to the database")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void filterGauge(MeterRegistry meterRegistry, String name, String baseUnit,
+                             ToDoubleFunction<BloomFilter> value) {
+        Gauge.builder(name, this, nameFilter -> {
+                    BloomFilter current = nameFilter.filter;
+                    return current == null ? 0 : value.applyAsDouble(current);
+                })
+                .baseUnit(baseUnit)
+                .register(meterRegistry);
+    }
+}
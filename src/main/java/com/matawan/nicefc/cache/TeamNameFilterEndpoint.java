@@ -0,0 +1,67 @@
+package com.matawan.nicefc.cache;
+
+import com.matawan.nicefc.utils.bloom.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code TeamNameFilterEndpoint} class exposes the {@link TeamNameFilter} as the {@code teamnamefilter}
+ * actuator endpoint: {@code GET /actuator/teamnamefilter} describes the current filter and
+ * {@code POST /actuator/teamnamefilter} rebuilds it from the database.
+ */
+@Component
+@Endpoint(id = "teamnamefilter")
+public class TeamNameFilterEndpoint {
+
+    private final TeamNameFilter teamNameFilter;
+
+    /**
+     * Constructs a new TeamNameFilterEndpoint.
+     *
+     * @param teamNameFilter The filter described and rebuilt by the endpoint.
+     */
+    @Autowired
+    public TeamNameFilterEndpoint(TeamNameFilter teamNameFilter) {
+        this.teamNameFilter = teamNameFilter;
+    }
+
+    /**
+     * Describes the filter currently answering lookups.
+     *
+     * @return The size and estimated load of the filter.
+     */
+    @ReadOperation
+    public Map<String, Object> describe() {
+        return describe(teamNameFilter.getFilter());
+    }
+
+    /**
+     * Rebuilds the filter from the names of all teams.
+     *
+     * @return The size and estimated load of the rebuilt filter.
+     */
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        teamNameFilter.rebuild();
+        return describe(teamNameFilter.getFilter());
+    }
+
+    private static Map<String, Object> describe(BloomFilter filter) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("loaded", filter != null);
+        if (filter != null) {
+            description.put("bits", filter.bitCount());
+            description.put("hashFunctions", filter.hashCount());
+            description.put("memoryBytes", filter.memoryBytes());
+            description.put("approximateNames", filter.approximateElementCount());
+            description.put("expectedFalsePositiveRate", filter.expectedFalsePositiveRate());
+        }
+        return description;
+    }
+}
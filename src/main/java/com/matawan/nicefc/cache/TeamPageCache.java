@@ -0,0 +1,172 @@
+package com.matawan.nicefc.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.matawan.nicefc.config.routing.ReadYourWrites;
+import com.matawan.nicefc.dto.TeamListingVersionDto;
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * The {@code TeamPageCache} class keeps recently read team listings in memory, bounded in size and age,
+ * so that repeated requests for the same page do not reach the database.
+ *
+ * <p>Entries are keyed on the listing parameters and on a generation number. Each team creation increments
+ * the generation once its transaction completes, before the creating request returns, so every later lookup
+ * misses and reloads a listing that includes the new team. Entries of older generations are never read again
+ * and are evicted by the size and age bounds, instead of the whole cache being flushed.
+ *
+ * <p>The generation, prefixed with the start time of the application so that it is not reused after a restart,
+ * also versions the listings for conditional requests. Since {@code If-Modified-Since} only has a precision of a
+ * second, each creation moves the last modification time to a later whole second than any sent before, so that a
+ * listing fetched in the same second as a creation is never taken for the current one.
+ *
+ * <p>When reads go to replicas, each generation also holds the write-ahead log position of the primary once its
+ * creation has committed, and the listings of a generation, cached or answered under its version, are loaded from
+ * a replica that has replayed that position, or from the primary: a listing missing the creation is never kept
+ * under the generation that follows it. A client that has just written, maybe through another instance, skips the
+ * cache and loads its listings from a replica that has replayed its own write.
+ *
+ * <p>Hits, misses and evictions are reported by the Micrometer {@code cache.*} meters tagged {@code cache=teamPages}.
+ */
+@Component
+public class TeamPageCache {
+
+    private final Cache<PageKey, Object> cache;
+    private final AtomicReference<Generation> generation = new AtomicReference<>(new Generation(0, 0));
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong lastModified = new AtomicLong(startedAt);
+    private final ReadYourWrites readYourWrites;
+
+    /**
+     * Constructs a new TeamPageCache.
+     *
+     * @param meterRegistry The registry the cache statistics are registered in.
+     * @param maximumSize   The maximal number of listings kept in memory.
+     * @param timeToLive    How long a listing is kept after being loaded.
+     * @param readYourWrites The write positions of the clients, absent when every read goes to the primary.
+     */
+    @Autowired
+    public TeamPageCache(MeterRegistry meterRegistry,
+                         @Value("${nicefc.teams.page-cache.maximum-size:1000}") long maximumSize,
+                         @Value("${nicefc.teams.page-cache.ttl:60s}") Duration timeToLive,
+                         ObjectProvider<ReadYourWrites> readYourWrites) {
+        this.readYourWrites = readYourWrites.getIfAvailable();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "teamPages");
+    }
+
+    /**
+     * Retrieves a listing from memory, or loads it and keeps it when it is missing.
+     * Concurrent requests for the same missing listing wait for a single load.
+     * A client that has just written always loads the listing, without keeping it.
+     * See {@link #loadCurrent(Supplier)} for the replicas the listing may be loaded from.
+     *
+     * @param kind   The kind of listing: "page", "slice" or "cursor".
+     * @param page   The page number, 0 for cursor listings.
+     * @param size   The number of teams per listing.
+     * @param sortBy The field the teams are sorted by.
+     * @param cursor The cursor of a cursor listing, {@code null} otherwise.
+     * @param loader Loads the listing from the database when it is missing.
+     * @param <T>    The type of the listing.
+     * @return The listing.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, int page, int size, String sortBy, String cursor, Supplier<T> loader) {
+        // read the generation before loading: a listing loaded while a creation commits is stored under the old one
+        Generation current = generation.get();
+        if (readYourWrites != null && readYourWrites.hasClientWrite()) {
+            return load(current, loader);
+        }
+        PageKey key = new PageKey(current.number(), kind, page, size, sortBy, cursor);
+        return (T) cache.get(key, ignored -> load(current, loader));
+    }
+
+    /**
+     * Loads a listing answered under the current version without keeping it, such as a streamed listing.
+     * When reads go to replicas, it is loaded from one that has replayed the latest creation of the version,
+     * or from the primary.
+     *
+     * @param loader Loads the listing from the database.
+     * @param <T>    The type of the listing.
+     * @return The listing.
+     */
+    public <T> T loadCurrent(Supplier<T> loader) {
+        return load(generation.get(), loader);
+    }
+
+    private <T> T load(Generation current, Supplier<T> loader) {
+        return readYourWrites == null ? loader.get() : readYourWrites.readAtLeast(current.lsn(), loader);
+    }
+
+    /**
+     * Retrieves the current generation, incremented by each team creation.
+     *
+     * @return The current generation.
+     */
+    public long getGeneration() {
+        return generation.get().number();
+    }
+
+    /**
+     * Retrieves the version of the listings, changed by each team creation.
+     *
+     * @return The entity tag and last modification time of the listings.
+     */
+    public TeamListingVersionDto getVersion() {
+        long currentLastModified = lastModified.get();
+        return new TeamListingVersionDto("W/\"" + Long.toString(startedAt, 36) + "-" + generation.get().number() + "\"",
+                currentLastModified);
+    }
+
+    /**
+     * Makes the listings loaded so far unreachable once a team creation has completed.
+     * Rolled back creations count too, since a listing may have been loaded within their transaction.
+     * The position of the primary, recorded once the creation has committed, becomes the one the listings of
+     * the new generation are loaded at.
+     *
+     * @param event The event describing the created team.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onTeamCreated(TeamCreatedEvent event) {
+        long now = System.currentTimeMillis();
+        lastModified.updateAndGet(previous -> Math.max(nextWholeSecond(now), nextWholeSecond(previous)));
+        long lsn = readYourWrites == null ? 0 : readYourWrites.getLastWriteLsn();
+        generation.updateAndGet(previous -> new Generation(previous.number() + 1, Math.max(previous.lsn(), lsn)));
+    }
+
+    /**
+     * Rounds a time in milliseconds up to the following whole second, strictly after it.
+     */
+    private static long nextWholeSecond(long millis) {
+        return (millis / 1000 + 1) * 1000;
+    }
+
+    /**
+     * A generation of the listings, with the write-ahead log position its listings are loaded at.
+     */
+    private record Generation(long number, long lsn) {
+    }
+
+    /**
+     * Identifies a listing within a generation.
+     */
+    private record PageKey(long generation, String kind, int page, int size, String sortBy, String cursor) {
+    }
+}
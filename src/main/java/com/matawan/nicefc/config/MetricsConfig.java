@@ -0,0 +1,89 @@
+package com.matawan.nicefc.config;
+
+import com.matawan.nicefc.config.logging.SqlStatementLog;
+import com.matawan.nicefc.config.metrics.RequestStatisticsFilter;
+import com.matawan.nicefc.config.metrics.RequestStatisticsIntegrator;
+import com.matawan.nicefc.config.metrics.RequestStatisticsSessionListener;
+import com.matawan.nicefc.config.metrics.RequestStatisticsStatementInspector;
+import com.matawan.nicefc.config.metrics.SqlStatementBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration class for the metrics of the request path beyond those of Spring Boot.
+ *
+ * <p>The controller and service timers ({@code nicefc.controller} and {@code nicefc.service}) come from the
+ * {@code @Timed} annotations, the repository ones from Spring Data ({@code spring.data.repository.invocations}) and
+ * the mapper ones from {@code TeamMapper} itself ({@code nicefc.mapper}). This class adds the Hibernate work done
+ * for each request of the team API ({@code nicefc.request.*}), and checks its SQL statements against the budget of
+ * its endpoint ({@code nicefc.sql.budget.*}). The same Hibernate hooks time the statements for
+ * {@link SqlStatementLog} ({@code nicefc.logging.sql.*}).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Registers the listeners counting the statements, flushes and entities loaded of the current request, and the
+     * inspector grouping its statements by text, then sets which statements {@link SqlStatementLog} logs.
+     *
+     * @param slowThreshold The duration from which a statement is always logged.
+     * @param sampleRate    The share of the faster statements logged.
+     * @return The customizer of the Hibernate properties.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsHibernateProperties(
+            @Value("${nicefc.logging.sql.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${nicefc.logging.sql.sample-rate:0}") double sampleRate) {
+        SqlStatementLog.configure(slowThreshold, sampleRate);
+        return properties -> {
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatisticsSessionListener.class.getName());
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, new RequestStatisticsStatementInspector());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new RequestStatisticsIntegrator()));
+        };
+    }
+
+    /**
+     * Provides the SQL statement budgets of the team API endpoints.
+     *
+     * @param budgets           The budgets, as {@code METHOD pattern=statements}.
+     * @param mode              What happens to a request over its budget: {@code off}, {@code log} or {@code fail}.
+     * @param sampleRate        The share of the requests whose statements are grouped by text.
+     * @param repeatedThreshold The number of runs of the same statement from which it is reported as a likely N+1.
+     * @param meterRegistry     The registry the requests over budget are counted in.
+     * @return The SQL statement budgets.
+     */
+    @Bean
+    public SqlStatementBudget sqlStatementBudget(@Value("${nicefc.sql.budget.limits:}") List<String> budgets,
+                                                 @Value("${nicefc.sql.budget.mode:log}") String mode,
+                                                 @Value("${nicefc.sql.budget.sample-rate:0.01}") double sampleRate,
+                                                 @Value("${nicefc.sql.budget.repeated-threshold:3}") int repeatedThreshold,
+                                                 MeterRegistry meterRegistry) {
+        return new SqlStatementBudget(budgets, SqlStatementBudget.Mode.valueOf(mode.toUpperCase()), sampleRate,
+                repeatedThreshold, meterRegistry);
+    }
+
+    /**
+     * Provides the filter publishing the statistics of each request of the team API, on the servlet stack.
+     *
+     * @param meterRegistry      The registry the statistics are published to.
+     * @param sqlStatementBudget The budgets the statements of each request are checked against.
+     * @return The filter of the team API requests.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public RequestStatisticsFilter requestStatisticsFilter(MeterRegistry meterRegistry, SqlStatementBudget sqlStatementBudget) {
+        return new RequestStatisticsFilter(meterRegistry, sqlStatementBudget);
+    }
+}
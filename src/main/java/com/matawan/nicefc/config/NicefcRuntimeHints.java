@@ -0,0 +1,67 @@
+package com.matawan.nicefc.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.matawan.nicefc.config.metrics.RequestStatisticsSessionListener;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamImportResultDto;
+import com.matawan.nicefc.dto.TeamImportStatus;
+import com.matawan.nicefc.dto.TeamImportSummaryDto;
+import com.matawan.nicefc.dto.TeamListingVersionDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import com.matawan.nicefc.dto.projection.PlayerRow;
+import com.matawan.nicefc.dto.projection.TeamPlayerRow;
+import com.matawan.nicefc.dto.projection.TeamRow;
+import com.matawan.nicefc.entity.Player;
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
+
+/**
+ * Reachability hints of the native image, for what Spring AOT cannot infer from the bean definitions.
+ *
+ * <ul>
+ *     <li>The Lombok-generated accessors of the DTOs, entities and events written or read by Jackson, including the
+ *     pages and slices returned through {@code ResponseEntity<?>} and the {@code id} property the
+ *     {@code @JsonIdentityInfo} entities are identified by.</li>
+ *     <li>The fields of the DTOs and entities, whose constraint annotations are read by the validator.</li>
+ *     <li>The constructors of the rows built by the JPQL {@code select new} queries.</li>
+ *     <li>The JCache provider and configuration of the Hibernate second-level cache, and the migration scripts.</li>
+ *     <li>The session listener Hibernate creates by name for each session to count the work of a request.</li>
+ *     <li>The asynchronous appender and the JSON encoder Logback creates and configures from {@code logback-spring.xml}.</li>
+ * </ul>
+ * The lazy {@code Player.team} association does not need a runtime proxy: the native profile enhances the entities
+ * at build time, so that Hibernate uses them as their own proxies.
+ */
+public class NicefcRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(), TeamDto.class, PlayerDto.class, TeamSliceDto.class,
+                TeamImportResultDto.class, TeamImportStatus.class, TeamImportSummaryDto.class, TeamListingVersionDto.class,
+                TeamCreatedEvent.class, Team.class, Player.class, PageImpl.class, SliceImpl.class);
+
+        for (Class<?> validated : new Class<?>[]{TeamDto.class, PlayerDto.class, Team.class, Player.class}) {
+            hints.reflection().registerType(validated, MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.reflection().registerType(TeamRow.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(PlayerRow.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(TeamPlayerRow.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(RequestStatisticsSessionListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        for (Class<?> logging : new Class<?>[]{AsyncAppender.class, LogstashEncoder.class}) {
+            hints.reflection().registerType(logging, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("hibernate-cache.conf");
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+}
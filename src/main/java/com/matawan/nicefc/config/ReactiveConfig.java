@@ -0,0 +1,138 @@
+package com.matawan.nicefc.config;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
+
+/**
+ * Configuration class of the reactive stack, selected by the {@code reactive} profile.
+ *
+ * <p>The team API is then served by WebFlux on Netty, and reads and writes the same server as the JPA stack, external
+ * or embedded, through a pool of R2DBC connections. The JPA stack stays in place for the rest of the application,
+ * so the R2DBC transaction manager is not exposed as a bean: it would replace the JPA one.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveConfig.class);
+
+    /**
+     * Configures the pool of R2DBC connections, to the server of {@code spring.r2dbc.url} when set, otherwise to the
+     * external server of {@code spring.datasource.url}, otherwise to the embedded PostGreSQL instance.
+     *
+     * <p>The JDBC URL is turned into an R2DBC one with the same host, port and database; its driver properties are
+     * left out, as the R2DBC driver names them differently. The user and password are those of {@code spring.r2dbc.*},
+     * or else of {@code spring.datasource.*}.
+     *
+     * @param embeddedPostgres The embedded PostGreSQL instance, absent when an external server is configured.
+     * @param r2dbcUrl         The R2DBC URL of the server, empty to derive it from the JDBC one.
+     * @param jdbcUrl          The JDBC URL of the external server, empty for the embedded instance.
+     * @param username         The user of the external server.
+     * @param password         The password of the external server.
+     * @param maxSize          The maximal number of connections open at once.
+     * @param acquireTimeout   How long a subscriber waits for a connection before failing.
+     * @return The pooled R2DBC connection factory.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool r2dbcConnectionFactory(ObjectProvider<EmbeddedPostgres> embeddedPostgres,
+                                                 @Value("${spring.r2dbc.url:}") String r2dbcUrl,
+                                                 @Value("${spring.datasource.url:}") String jdbcUrl,
+                                                 @Value("${spring.r2dbc.username:${spring.datasource.username:}}") String username,
+                                                 @Value("${spring.r2dbc.password:${spring.datasource.password:}}") String password,
+                                                 @Value("${nicefc.r2dbc.pool.max-size:20}") int maxSize,
+                                                 @Value("${nicefc.r2dbc.pool.acquire-timeout:30s}") Duration acquireTimeout) {
+        ConnectionFactory connectionFactory;
+        if (r2dbcUrl.isEmpty() && jdbcUrl.isEmpty()) {
+            connectionFactory = new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                    .host("localhost")
+                    .port(embeddedPostgres.getObject().getPort())
+                    .username("postgres")
+                    // the embedded instance trusts local connections, but the driver requires a password
+                    .password("postgres")
+                    .database("postgres")
+                    .build());
+            logger.info("R2DBC connections go to the embedded PostGreSQL instance.");
+        } else {
+            String url = r2dbcUrl.isEmpty() ? toR2dbcUrl(jdbcUrl) : r2dbcUrl;
+            ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+            if (!username.isEmpty()) {
+                options.option(ConnectionFactoryOptions.USER, username);
+            }
+            if (!password.isEmpty()) {
+                options.option(ConnectionFactoryOptions.PASSWORD, password);
+            }
+            connectionFactory = ConnectionFactories.get(options.build());
+            logger.info("R2DBC connections go to the external server {}.", url);
+        }
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(Math.min(4, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+        logger.info("R2DBC connection pool configured successfully, with at most {} connections.", maxSize);
+        return pool;
+    }
+
+    /**
+     * Turns a {@code jdbc:postgresql://host:port/database?properties} URL into the R2DBC URL of the same database,
+     * without the driver properties.
+     */
+    static String toR2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:postgresql:")) {
+            throw new IllegalArgumentException("not a PostGreSQL JDBC URL: " + jdbcUrl);
+        }
+        String url = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+        int properties = url.indexOf('?');
+        return properties < 0 ? url : url.substring(0, properties);
+    }
+
+    /**
+     * Provides the client running the SQL statements of the reactive repositories.
+     *
+     * @param connectionFactory The pooled R2DBC connection factory.
+     * @return The database client.
+     */
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Provides the operator running reactive pipelines within an R2DBC transaction.
+     *
+     * @param connectionFactory The pooled R2DBC connection factory.
+     * @return The transactional operator.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Serves the reactive stack on Netty rather than on Tomcat, which is also on the classpath.
+     *
+     * @return The Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
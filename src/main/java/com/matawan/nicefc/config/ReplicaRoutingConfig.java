@@ -0,0 +1,151 @@
+package com.matawan.nicefc.config;
+
+import com.matawan.nicefc.config.routing.EmbeddedReplicas;
+import com.matawan.nicefc.config.routing.ReadWriteRoutingDataSource;
+import com.matawan.nicefc.config.routing.ReadYourWrites;
+import com.matawan.nicefc.config.routing.ReadYourWritesFilter;
+import com.matawan.nicefc.config.routing.ReplicaSelectionStrategy;
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class routing read-only transactions to read replicas, enabled when
+ * {@code nicefc.datasource.replicas.urls} lists replicas or {@code nicefc.datasource.replicas.embedded}
+ * starts embedded ones.
+ *
+ * <p>The application then uses a {@link ReadWriteRoutingDataSource} in place of the primary pool: transactions
+ * marked {@code readOnly}, such as the team listings, go to a replica that has caught up, and everything else
+ * goes to the primary pool defined by {@link postGreSQLConfig}.
+ */
+@Configuration
+@ConditionalOnExpression("!'${nicefc.datasource.replicas.urls:}'.isEmpty() or ${nicefc.datasource.replicas.embedded:0} > 0")
+public class ReplicaRoutingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    /**
+     * Starts the embedded replicas of the embedded primary, stopped when the application context is closed.
+     *
+     * @param embeddedPostgres The embedded primary, absent when an external server is configured.
+     * @param count            The number of embedded replicas, {@code 0} for none.
+     * @return The running embedded replicas.
+     * @throws IOException  If a replica cannot be created or started.
+     * @throws SQLException If the base backup of the primary cannot be taken.
+     */
+    @Bean(destroyMethod = "close")
+    public EmbeddedReplicas embeddedReplicas(ObjectProvider<EmbeddedPostgres> embeddedPostgres,
+                                             @Value("${nicefc.datasource.replicas.embedded:0}") int count)
+            throws IOException, SQLException {
+        EmbeddedPostgres primary = embeddedPostgres.getIfAvailable();
+        if (count > 0 && primary == null) {
+            throw new IllegalStateException("embedded replicas need the embedded primary, unset spring.datasource.url");
+        }
+        return new EmbeddedReplicas(primary, count);
+    }
+
+    /**
+     * Provides the write-ahead log positions reads must have caught up with. As the only {@code TaskDecorator},
+     * it also decorates the Spring Boot task executor, on which Spring MVC writes the streamed responses, so
+     * that they are read with the position of their client.
+     *
+     * @return The read-your-writes guard.
+     */
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return new ReadYourWrites();
+    }
+
+    /**
+     * Configures the DataSource routing between the primary pool and one pool per replica.
+     *
+     * @param primary          The pool of connections to the primary.
+     * @param embeddedReplicas The embedded replicas, if any.
+     * @param urls             The JDBC URLs of the external replicas.
+     * @param username         The user of the external replicas, the one of the primary.
+     * @param password         The password of the external replicas, the one of the primary.
+     * @param poolSize         The maximal number of connections open at once to each replica.
+     * @param strategy         How a replica is chosen among the up-to-date ones.
+     * @param maxLagBytes      How far behind the primary a replica may be and still serve reads.
+     * @param pollInterval     How often the positions of the primary and of the replicas are read.
+     * @param readYourWrites   The read-your-writes guard.
+     * @param meterRegistry    The registry of the pool and routing metrics.
+     * @return The routing DataSource.
+     */
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primary, EmbeddedReplicas embeddedReplicas,
+                                                                 @Value("${nicefc.datasource.replicas.urls:}") List<String> urls,
+                                                                 @Value("${spring.datasource.username:}") String username,
+                                                                 @Value("${spring.datasource.password:}") String password,
+                                                                 @Value("${nicefc.datasource.replicas.maximum-pool-size:20}") int poolSize,
+                                                                 @Value("${nicefc.datasource.replicas.strategy:round-robin}") String strategy,
+                                                                 @Value("${nicefc.datasource.replicas.max-lag-bytes:16777216}") long maxLagBytes,
+                                                                 @Value("${nicefc.datasource.replicas.poll-interval:100ms}") Duration pollInterval,
+                                                                 ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        List<String> replicaUrls = new ArrayList<>(urls);
+        replicaUrls.addAll(embeddedReplicas.getJdbcUrls());
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(primary.getPoolName() + "-replica-" + (i + 1));
+            pool.setJdbcUrl(replicaUrls.get(i));
+            if (i < urls.size()) {
+                pool.setUsername(username);
+                pool.setPassword(password);
+            }
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setMinimumIdle(Math.min(poolSize, primary.getMinimumIdle()));
+            pool.setConnectionTimeout(primary.getConnectionTimeout());
+            pool.setDataSourceProperties(primary.getDataSourceProperties());
+            pool.setMetricRegistry(meterRegistry);
+            replicaPools.add(pool);
+        }
+        ReplicaSelectionStrategy selectionStrategy = ReplicaSelectionStrategy.valueOf(strategy.toUpperCase().replace('-', '_'));
+        logger.info("Read/write routing DataSource configured successfully, with {} replicas selected by {}.",
+                replicaPools.size(), strategy);
+        return new ReadWriteRoutingDataSource(primary, replicaPools, selectionStrategy, maxLagBytes, pollInterval,
+                readYourWrites, meterRegistry);
+    }
+
+    /**
+     * Provides the DataSource used by the application, which fetches a connection from the routing DataSource
+     * only once a statement is run, when the transaction is known to be read-only or not.
+     *
+     * @param readWriteRoutingDataSource The routing DataSource.
+     * @return The DataSource used by the application.
+     */
+    @Bean
+    @Primary
+    public DataSource routingDataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * Carries the position of each client's latest write across requests and instances.
+     *
+     * @param readYourWrites The read-your-writes guard.
+     * @param maxAge         How long a client's reads take its latest write into account.
+     * @return The filter reading and setting the client's position.
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWrites readYourWrites,
+                                                     @Value("${nicefc.datasource.replicas.read-your-writes-max-age:60s}") Duration maxAge) {
+        return new ReadYourWritesFilter(readYourWrites, maxAge);
+    }
+}
@@ -0,0 +1,131 @@
+package com.matawan.nicefc.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code VirtualThreadPinningMonitor} class reports the places where a virtual thread blocked while pinned
+ * to its carrier thread, typically inside a {@code synchronized} block of a driver or library, which takes
+ * a carrier away from all the other virtual threads for as long as it blocks.
+ *
+ * <p>It is only active when requests run on virtual threads ({@code spring.threads.virtual.enabled=true}
+ * on Java 21 or later). It listens to the {@code jdk.VirtualThreadPinned} JFR events from the creation of
+ * the context, logs each pinning site the first time it is seen, and lists the sites seen during startup once
+ * the application is ready. Pinnings are counted by the {@code nicefc.threads.virtual.pinned} counter,
+ * tagged with the pinning site.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Map<String, Counter> sites = new ConcurrentHashMap<>();
+    private RecordingStream recording;
+
+    /**
+     * Constructs a new VirtualThreadPinningMonitor.
+     *
+     * @param meterRegistry The registry the pinning counters are registered in.
+     * @param threshold     How long a virtual thread must stay pinned to be reported.
+     */
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${nicefc.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Starts listening to the pinning events.
+     */
+    @PostConstruct
+    public void start() {
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        logger.info("reporting virtual threads pinned for more than {}", threshold);
+    }
+
+    /**
+     * Logs the pinning sites seen while the application was starting.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportStartup() {
+        if (sites.isEmpty()) {
+            logger.info("no virtual thread pinned for more than {} during startup", threshold);
+        } else {
+            logger.warn("virtual threads pinned for more than {} during startup at: {}", threshold,
+                    sites.entrySet().stream()
+                            .map(site -> site.getKey() + " (" + (long) site.getValue().count() + ")")
+                            .collect(Collectors.joining(", ")));
+        }
+    }
+
+    /**
+     * Stops listening to the pinning events.
+     */
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .filter(frame -> !isJdkFrame(frame))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::describe)
+                .orElse("unknown");
+        Counter counter = sites.computeIfAbsent(site, newSite -> {
+            logger.warn("virtual thread pinned to its carrier for {} at {}\n\tat {}", event.getDuration(), newSite,
+                    frames.stream().limit(LOGGED_FRAMES)
+                            .map(VirtualThreadPinningMonitor::describe)
+                            .collect(Collectors.joining("\n\tat ")));
+            return Counter.builder("nicefc.threads.virtual.pinned")
+                    .description("Virtual threads that blocked while pinned to their carrier thread")
+                    .tag("site", newSite)
+                    .register(meterRegistry);
+        });
+        counter.increment();
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String className = frame.getMethod().getType().getName();
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
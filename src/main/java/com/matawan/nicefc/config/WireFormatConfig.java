@@ -0,0 +1,62 @@
+package com.matawan.nicefc.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.matawan.nicefc.config.protobuf.TeamProtobufHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class of the binary encodings of the team API, chosen by the {@code Accept} header for responses and
+ * by the {@code Content-Type} header for request bodies: CBOR ({@code application/cbor}), Smile
+ * ({@code application/x-jackson-smile}) and Protocol Buffers ({@code application/x-protobuf}, see
+ * {@code proto/team.proto}).
+ *
+ * <p>JSON stays the encoding of requests accepting any type: the binary converters come after the JSON one.
+ * The CBOR and Smile mappers are built from the Spring Boot builder, so they follow the {@code spring.jackson.*}
+ * settings of the JSON one.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    /**
+     * Provides the CBOR converter, in place of the default one built without the Spring Boot settings.
+     *
+     * @param builder The builder of the application mappers.
+     * @return The CBOR converter.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Provides the Smile converter, in place of the default one built without the Spring Boot settings.
+     *
+     * @param builder The builder of the application mappers.
+     * @return The Smile converter.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Adds the Protocol Buffers converter last, rather than as a bean which would be put before the JSON converter.
+     *
+     * @param converters The converters of Spring MVC.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new TeamProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,68 @@
+package com.matawan.nicefc.config.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs the SQL statements run by Hibernate with their duration, as structured events of the {@code nicefc.sql}
+ * logger carrying the {@code sql}, {@code durationMs} and {@code slow} fields. A statement slower than the threshold
+ * is always logged, at WARN, and a sample of the others at INFO, instead of every statement being printed
+ * synchronously by {@code spring.jpa.show-sql}.
+ *
+ * <p>The statement run on a thread is the one Hibernate last prepared on it, reported by the statement inspector,
+ * and its execution is timed by the session listener. Batches are not logged, their statements being prepared
+ * long before they run. Hibernate creating the listener itself, the threshold and the sample rate are set once for
+ * the application by {@link #configure(Duration, double)}.
+ */
+public final class SqlStatementLog {
+    private static final Logger logger = LoggerFactory.getLogger("nicefc.sql");
+
+    private static final ThreadLocal<String> PREPARED_STATEMENT = new ThreadLocal<>();
+
+    private static volatile long slowThresholdNanos = Long.MAX_VALUE;
+    private static volatile double sampleRate;
+
+    private SqlStatementLog() {
+    }
+
+    /**
+     * Sets which statements are logged.
+     *
+     * @param slowThreshold The duration from which a statement is always logged.
+     * @param sampleRate    The share of the faster statements logged, between 0 and 1.
+     */
+    public static void configure(Duration slowThreshold, double sampleRate) {
+        SqlStatementLog.slowThresholdNanos = slowThreshold.toNanos();
+        SqlStatementLog.sampleRate = sampleRate;
+    }
+
+    /**
+     * Records the statement about to run on the current thread.
+     *
+     * @param sql The SQL text of the statement.
+     */
+    public static void prepared(String sql) {
+        PREPARED_STATEMENT.set(sql);
+    }
+
+    /**
+     * Logs the statement last prepared on the current thread if it was slow or is sampled.
+     *
+     * @param durationNanos The time the statement took to run, in nanoseconds.
+     */
+    public static void executed(long durationNanos) {
+        boolean slow = durationNanos >= slowThresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        LoggingEventBuilder event = slow ? logger.atWarn() : logger.atInfo();
+        event.addKeyValue("sql", PREPARED_STATEMENT.get())
+                .addKeyValue("durationMs", durationNanos / 1_000_000.0)
+                .addKeyValue("slow", slow)
+                .log(slow ? "slow SQL statement" : "SQL statement");
+    }
+}
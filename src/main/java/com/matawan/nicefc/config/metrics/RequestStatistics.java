@@ -0,0 +1,131 @@
+package com.matawan.nicefc.config.metrics;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the Hibernate work done for one HTTP request: the JDBC statements prepared, the entities loaded and the
+ * flushes. The statistics are bound to the thread handling the request by {@link RequestStatisticsFilter}, and
+ * filled by {@link RequestStatisticsSessionListener} and {@link RequestStatisticsIntegrator}.
+ *
+ * <p>For the requests sampled by {@link SqlStatementBudget}, the statements are also grouped by SQL text by
+ * {@link RequestStatisticsStatementInspector}, so that a statement run once per row of a previous result, with
+ * different parameters each time, shows up as a likely N+1 pattern.
+ *
+ * <p>Work done on another thread, such as the chunks of a bulk import or the events pushed to subscribers, is not
+ * counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entitiesLoaded;
+    private long flushes;
+    private final Map<String, Integer> statementsBySql;
+
+    private RequestStatistics(boolean groupStatements) {
+        this.statementsBySql = groupStatements ? new HashMap<>() : null;
+    }
+
+    /**
+     * Binds new statistics to the current thread until {@link #end()}.
+     *
+     * @param groupStatements Whether the statements are grouped by SQL text, which costs a map entry per distinct
+     *                        statement.
+     * @return The statistics of the request handled by the current thread.
+     */
+    public static RequestStatistics begin(boolean groupStatements) {
+        RequestStatistics statistics = new RequestStatistics(groupStatements);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Retrieves the statistics bound to the current thread.
+     *
+     * @return The statistics of the request handled by the current thread, or {@code null} outside a request.
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Unbinds the statistics from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void statementInspected(String sql) {
+        if (statementsBySql != null) {
+            statementsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void flushed() {
+        flushes++;
+    }
+
+    /**
+     * Retrieves the number of JDBC statements prepared so far.
+     *
+     * @return The number of statements.
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * Retrieves the number of entities loaded so far, from the database or from the second-level cache.
+     *
+     * @return The number of entities loaded.
+     */
+    public long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    /**
+     * Retrieves the number of flushes so far.
+     *
+     * @return The number of flushes.
+     */
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * Tells whether the statements of the request are grouped by SQL text.
+     *
+     * @return {@code true} if {@link #getRepeatedStatements(int)} reports the statements of the request.
+     */
+    public boolean isGroupingStatements() {
+        return statementsBySql != null;
+    }
+
+    /**
+     * Retrieves the statements run at least a given number of times with the same SQL text, most run first.
+     *
+     * @param threshold The number of runs from which a statement is reported.
+     * @return The number of runs by SQL text, empty when the statements are not grouped.
+     */
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        if (statementsBySql != null) {
+            statementsBySql.entrySet().stream()
+                    .filter(statement -> statement.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(statement -> repeated.put(statement.getKey(), statement.getValue()));
+        }
+        return repeated;
+    }
+}
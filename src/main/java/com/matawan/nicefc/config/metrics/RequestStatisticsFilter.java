@@ -0,0 +1,98 @@
+package com.matawan.nicefc.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Publishes the Hibernate work done for each request of the team API as distribution summaries:
+ * {@code nicefc.request.statements}, {@code nicefc.request.entities.loaded} and {@code nicefc.request.flushes},
+ * tagged by HTTP method, endpoint ({@code uri}, the matched pattern) and {@code sortBy} parameter, so that a
+ * listing sorted by one field can be told apart from the others.
+ *
+ * <p>A {@code sortBy} other than the sort fields is tagged {@code invalid}, and an absent one {@code none}, to keep
+ * the number of series bounded.
+ *
+ * <p>The statements of the request are then checked against the budget of its endpoint by {@link SqlStatementBudget},
+ * and the statistics are left in the {@link #STATISTICS_ATTRIBUTE} request attribute for the tests.
+ */
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    /**
+     * The name of the request attribute holding the {@link RequestStatistics} of the request.
+     */
+    public static final String STATISTICS_ATTRIBUTE = RequestStatistics.class.getName();
+
+    private static final Set<String> SORT_FIELDS = Set.of("name", "acronym", "budget");
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementBudget sqlStatementBudget;
+
+    /**
+     * Constructor for the RequestStatisticsFilter class.
+     *
+     * @param meterRegistry      The registry the summaries are published to.
+     * @param sqlStatementBudget The budgets the statements of each request are checked against.
+     */
+    public RequestStatisticsFilter(MeterRegistry meterRegistry, SqlStatementBudget sqlStatementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementBudget = sqlStatementBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.begin(sqlStatementBudget.sample());
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        String uri;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatistics.end();
+            uri = uri(request);
+            Tags tags = Tags.of("method", request.getMethod(), "uri", uri, "sortBy", sortBy(request));
+            summary("nicefc.request.statements", "JDBC statements prepared per request", "statements", tags)
+                    .record(statistics.getStatements());
+            summary("nicefc.request.entities.loaded", "Entities loaded per request", "entities", tags)
+                    .record(statistics.getEntitiesLoaded());
+            summary("nicefc.request.flushes", "Hibernate flushes per request", "flushes", tags)
+                    .record(statistics.getFlushes());
+        }
+        sqlStatementBudget.check(request.getMethod(), uri, statistics);
+    }
+
+    private DistributionSummary summary(String name, String description, String baseUnit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    private static String sortBy(HttpServletRequest request) {
+        String sortBy = request.getParameter("sortBy");
+        if (sortBy == null) {
+            return "none";
+        }
+        return SORT_FIELDS.contains(sortBy) ? sortBy : "invalid";
+    }
+}
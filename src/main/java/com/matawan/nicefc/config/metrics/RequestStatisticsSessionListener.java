@@ -0,0 +1,39 @@
+package com.matawan.nicefc.config.metrics;
+
+import com.matawan.nicefc.config.logging.SqlStatementLog;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the statements prepared and the flushes of a Hibernate session in the statistics of the request that
+ * opened it, and times the statements it runs for {@link SqlStatementLog}. Hibernate creates one listener per
+ * session ({@code hibernate.session.events.auto}); a session opened outside a request counts nothing.
+ */
+public class RequestStatisticsSessionListener implements SessionEventListener {
+
+    private final transient RequestStatistics statistics = RequestStatistics.current();
+    private long executionStart;
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        if (statistics != null) {
+            statistics.statementPrepared();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementLog.executed(System.nanoTime() - executionStart);
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        if (statistics != null) {
+            statistics.flushed();
+        }
+    }
+}
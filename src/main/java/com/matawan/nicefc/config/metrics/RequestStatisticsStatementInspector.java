@@ -0,0 +1,21 @@
+package com.matawan.nicefc.config.metrics;
+
+import com.matawan.nicefc.config.logging.SqlStatementLog;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Groups the SQL statements prepared by Hibernate by text in the statistics of the current request, when the
+ * request is sampled, and hands them to {@link SqlStatementLog}. The statement itself is left unchanged.
+ */
+public class RequestStatisticsStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementLog.prepared(sql);
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementInspected(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,127 @@
+package com.matawan.nicefc.config.metrics;
+
+import com.matawan.nicefc.exception.SqlStatementBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Checks the SQL statements run by each request of the team API against the budget of its endpoint, and reports the
+ * statements repeated with the same text as likely N+1 patterns.
+ *
+ * <p>The budgets are given as {@code METHOD pattern=statements}, for instance {@code GET /api/teams=3}. Every
+ * request is counted, which costs nothing beyond the statistics of {@link RequestStatisticsFilter}; grouping the
+ * statements by text costs a map entry per distinct statement, so only a sample of the requests is grouped.
+ * Depending on the mode, a request over its budget is logged, with its statements when they were grouped, or fails with a
+ * {@link SqlStatementBudgetExceededException} thrown back through the filter chain, which is meant for tests: the
+ * response has usually been written by then.
+ */
+public class SqlStatementBudget {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudget.class);
+
+    /**
+     * What happens to a request over its budget.
+     */
+    public enum Mode {
+        /**
+         * Nothing is checked nor grouped.
+         */
+        OFF,
+        /**
+         * The request is logged and counted.
+         */
+        LOG,
+        /**
+         * The request is logged, counted and fails.
+         */
+        FAIL
+    }
+
+    private final Map<String, Integer> budgets;
+    private final Mode mode;
+    private final double sampleRate;
+    private final int repeatedThreshold;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for the SqlStatementBudget class.
+     *
+     * @param budgets           The budgets of the endpoints, as {@code METHOD pattern=statements}.
+     * @param mode              What happens to a request over its budget.
+     * @param sampleRate        The share of the requests whose statements are grouped by text, between 0 and 1.
+     * @param repeatedThreshold The number of runs of the same statement from which it is reported.
+     * @param meterRegistry     The registry the requests over budget and the repeated statements are counted in.
+     * @throws IllegalArgumentException If a budget is not of the form {@code METHOD pattern=statements}.
+     */
+    public SqlStatementBudget(List<String> budgets, Mode mode, double sampleRate, int repeatedThreshold,
+                              MeterRegistry meterRegistry) {
+        this.budgets = new HashMap<>();
+        for (String budget : budgets) {
+            int separator = budget.lastIndexOf('=');
+            if (separator < 0 || budget.indexOf(' ') < 0) {
+                throw new IllegalArgumentException("invalid SQL statement budget '" + budget + "', expected METHOD pattern=statements");
+            }
+            this.budgets.put(budget.substring(0, separator).trim(), Integer.parseInt(budget.substring(separator + 1).trim()));
+        }
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+        this.repeatedThreshold = repeatedThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Draws whether the statements of the request about to be handled are grouped by text.
+     *
+     * @return {@code true} if they are grouped.
+     */
+    public boolean sample() {
+        return mode != Mode.OFF && (sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate));
+    }
+
+    /**
+     * Checks the statements of a request handled by an endpoint against its budget, and reports its repeated
+     * statements when they were grouped.
+     *
+     * @param method     The HTTP method of the request.
+     * @param uri        The pattern of the endpoint.
+     * @param statistics The statistics of the request.
+     * @throws SqlStatementBudgetExceededException If the request is over the budget in the {@code fail} mode.
+     */
+    public void check(String method, String uri, RequestStatistics statistics) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        String endpoint = method + " " + uri;
+        Map<String, Integer> repeated = statistics.getRepeatedStatements(repeatedThreshold);
+        for (Map.Entry<String, Integer> statement : repeated.entrySet()) {
+            logger.warn("{} ran the same statement {} times, likely an N+1 pattern: {}", endpoint, statement.getValue(), statement.getKey());
+        }
+        if (!repeated.isEmpty()) {
+            counter("nicefc.sql.statements.repeated", "Sampled requests running the same statement repeatedly", method, uri).increment();
+        }
+        Integer budget = budgets.get(endpoint);
+        if (budget == null || statistics.getStatements() <= budget) {
+            return;
+        }
+        counter("nicefc.sql.budget.exceeded", "Requests running more statements than the budget of their endpoint", method, uri).increment();
+        String message = endpoint + " ran " + statistics.getStatements() + " SQL statements, over its budget of " + budget
+                + (statistics.isGroupingStatements() ? ": " + statistics.getRepeatedStatements(1) : "");
+        if (mode == Mode.FAIL) {
+            throw new SqlStatementBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    private Counter counter(String name, String description, String method, String uri) {
+        return Counter.builder(name)
+                .description(description)
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry);
+    }
+}
@@ -1,38 +1,117 @@
 package com.matawan.nicefc.config;
 
 
+import com.matawan.nicefc.config.startup.EmbeddedPostgresCheckpointRestoreLifecycle;
+import com.matawan.nicefc.config.startup.EmbeddedPostgresStartup;
+import com.matawan.nicefc.config.startup.EmbeddedPostgresStartupInitializer;
 import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnCheckpointRestore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Paths;
 
-import javax.sql.DataSource;
 /**
- * Configuration class for providing an embedded PostGreSQL DataSource.
+ * Configuration class for providing a pooled PostGreSQL DataSource, on an embedded PostGreSQL instance
+ * unless {@code spring.datasource.url} points to an external server.
  */
 @Configuration
 public class postGreSQLConfig {
     private static final Logger logger = LoggerFactory.getLogger(postGreSQLConfig.class);
 
     /**
-     * Configures and provides an embedded PostGreSQL DataSource.
+     * Provides the embedded PostGreSQL instance, stopped when the application context is closed.
+     * It is not started when an external server is configured.
+     *
+     * <p>The instance is started in the background by {@link EmbeddedPostgresStartupInitializer} before the context
+     * is refreshed, so this only waits for it to be running; it is started here when that initializer did not run.
      *
-     * @return The configured embedded PostGreSQL DataSource.
+     * @param embeddedPostgresStartup The pending start of the instance.
+     * @param environment             The environment configuring the instance.
+     * @return The running embedded PostGreSQL instance.
      * @throws Exception If an error occurs while starting the embedded PostGreSQL instance.
      */
-    @Bean
-    @Primary
-    public DataSource embeddedPostGreSqlDb() throws Exception {
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("'${spring.datasource.url:}'.isEmpty()")
+    public EmbeddedPostgres embeddedPostgres(ObjectProvider<EmbeddedPostgresStartup> embeddedPostgresStartup,
+                                             Environment environment) throws Exception {
+        return embeddedPostgresStartup.getIfAvailable(() -> EmbeddedPostgresStartup.begin(environment)).await();
+    }
 
-        // Start an embedded PostGreSQL instance using the EmbeddedPostgres builder
-        // and retrieve the corresponding DataSource.
-        DataSource embeddedPostGreDS = EmbeddedPostgres.builder().start().getPostgresDatabase();
+    /**
+     * Configures and provides the HikariCP connection pool, on the external server when {@code spring.datasource.url}
+     * is set and on the embedded PostGreSQL instance otherwise.
+     *
+     * <p>The pool is tuned by the {@code spring.datasource.hikari.*} properties: its size, which bounds the
+     * number of connections independently of the number of requests handled at once, the validation and
+     * leak detection timeouts, and the driver properties such as {@code reWriteBatchedInserts} and the
+     * server-side prepared statement thresholds. Its metrics are published under {@code hikaricp.connections}.
+     * When read replicas are configured, it becomes the primary target of the routing DataSource defined by
+     * {@link ReplicaRoutingConfig}, which then takes precedence.
+     *
+     * @param embeddedPostgres The embedded PostGreSQL instance, absent when an external server is configured.
+     * @param url              The JDBC URL of the external server, empty for the embedded instance.
+     * @param username         The user of the external server.
+     * @param password         The password of the external server.
+     * @return The configured PostGreSQL connection pool.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource embeddedPostGreSqlDb(ObjectProvider<EmbeddedPostgres> embeddedPostgres,
+                                                 @Value("${spring.datasource.url:}") String url,
+                                                 @Value("${spring.datasource.username:}") String username,
+                                                 @Value("${spring.datasource.password:}") String password) {
+        HikariDataSource pool = new HikariDataSource();
+        if (url.isEmpty()) {
+            // connect to the embedded PostGreSQL instance through the driver, so that the pool applies the driver properties
+            pool.setJdbcUrl(embeddedPostgres.getObject().getJdbcUrl("postgres", "postgres"));
+            logger.info("Embedded PostGreSQL DataSource configured successfully.");
+        } else {
+            pool.setJdbcUrl(url);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            logger.info("External PostGreSQL DataSource configured successfully.");
+        }
+        return pool;
+    }
 
-        logger.info("Embedded PostGreSQL DataSource configured successfully.");
+    /**
+     * Suspends the connection pool and closes its connections before a CRaC checkpoint, and resumes it after the
+     * restore. It is bound to the pool itself rather than to the primary DataSource, which is not the pool when
+     * read replicas are configured.
+     *
+     * @param embeddedPostGreSqlDb The connection pool.
+     * @return The lifecycle of the pool around a checkpoint.
+     */
+    @Bean
+    @ConditionalOnCheckpointRestore
+    public HikariCheckpointRestoreLifecycle embeddedPostGreSqlDbCheckpointRestore(HikariDataSource embeddedPostGreSqlDb) {
+        return new HikariCheckpointRestoreLifecycle(embeddedPostGreSqlDb);
+    }
 
-        return embeddedPostGreDS;
+    /**
+     * Stops the embedded PostGreSQL instance before a CRaC checkpoint, once the pool has closed its connections,
+     * and starts it again on the same port and data directory after the restore, before the pool resumes.
+     *
+     * @param embeddedPostgres The embedded PostGreSQL instance.
+     * @param dataDirectory    The persistent data directory of the instance.
+     * @return The lifecycle of the instance around a checkpoint.
+     */
+    @Bean
+    @ConditionalOnCheckpointRestore
+    @ConditionalOnExpression("'${spring.datasource.url:}'.isEmpty() and ${nicefc.embedded.checkpoint-restore:false}")
+    public EmbeddedPostgresCheckpointRestoreLifecycle embeddedPostgresCheckpointRestore(EmbeddedPostgres embeddedPostgres,
+                                                                                        @Value("${nicefc.embedded.data-directory:}") String dataDirectory) {
+        return new EmbeddedPostgresCheckpointRestoreLifecycle(embeddedPostgres, dataDirectory.isEmpty() ? null : Paths.get(dataDirectory));
     }
 
 
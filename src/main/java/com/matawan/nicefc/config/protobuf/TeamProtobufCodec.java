@@ -0,0 +1,220 @@
+package com.matawan.nicefc.config.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes and reads the team DTOs in the Protocol Buffers encoding described by {@code proto/team.proto}.
+ *
+ * <p>The messages are encoded straight from the DTOs with {@link CodedOutputStream}, rather than through classes
+ * generated from the schema, so that the listings are not copied into a second object model before being written.
+ * As with generated code, fields holding their default value are left out, and a nested message is preceded by its
+ * size, computed beforehand.
+ */
+public final class TeamProtobufCodec {
+
+    private static final int PLAYER_NAME = 1;
+    private static final int PLAYER_POSITION = 2;
+
+    private static final int TEAM_NAME = 1;
+    private static final int TEAM_ACRONYM = 2;
+    private static final int TEAM_PLAYERS = 3;
+    private static final int TEAM_BUDGET = 4;
+
+    private static final int PAGE_CONTENT = 1;
+    private static final int PAGE_NUMBER = 2;
+    private static final int PAGE_SIZE = 3;
+    private static final int PAGE_TOTAL_ELEMENTS = 4;
+    private static final int PAGE_HAS_NEXT = 5;
+
+    private static final int SLICE_CONTENT = 1;
+    private static final int SLICE_SIZE = 2;
+    private static final int SLICE_HAS_NEXT = 3;
+    private static final int SLICE_NEXT_CURSOR = 4;
+
+    private TeamProtobufCodec() {
+    }
+
+    /**
+     * Writes a team as a {@code Team} message.
+     *
+     * @param team   The team to write.
+     * @param output The stream the message is written to, left open.
+     * @throws IOException If the message cannot be written.
+     */
+    public static void writeTeam(TeamDto team, OutputStream output) throws IOException {
+        CodedOutputStream coded = CodedOutputStream.newInstance(output);
+        writeTeamFields(team, coded);
+        coded.flush();
+    }
+
+    /**
+     * Writes a page or a slice of the paged listing as a {@code TeamPage} message, with a total only for a page.
+     *
+     * @param teams  The page or slice to write.
+     * @param output The stream the message is written to, left open.
+     * @throws IOException If the message cannot be written.
+     */
+    public static void writeTeamPage(Slice<TeamDto> teams, OutputStream output) throws IOException {
+        CodedOutputStream coded = CodedOutputStream.newInstance(output);
+        for (TeamDto team : teams.getContent()) {
+            writeTeamMessage(PAGE_CONTENT, team, coded);
+        }
+        if (teams.getNumber() != 0) {
+            coded.writeInt32(PAGE_NUMBER, teams.getNumber());
+        }
+        if (teams.getSize() != 0) {
+            coded.writeInt32(PAGE_SIZE, teams.getSize());
+        }
+        if (teams instanceof Page<TeamDto> page) {
+            // an optional field, written even when zero
+            coded.writeInt64(PAGE_TOTAL_ELEMENTS, page.getTotalElements());
+        }
+        if (teams.hasNext()) {
+            coded.writeBool(PAGE_HAS_NEXT, true);
+        }
+        coded.flush();
+    }
+
+    /**
+     * Writes a slice of the keyset pagination as a {@code TeamSlice} message.
+     *
+     * @param slice  The slice to write.
+     * @param output The stream the message is written to, left open.
+     * @throws IOException If the message cannot be written.
+     */
+    public static void writeTeamSlice(TeamSliceDto slice, OutputStream output) throws IOException {
+        CodedOutputStream coded = CodedOutputStream.newInstance(output);
+        if (slice.getContent() != null) {
+            for (TeamDto team : slice.getContent()) {
+                writeTeamMessage(SLICE_CONTENT, team, coded);
+            }
+        }
+        if (slice.getSize() != 0) {
+            coded.writeInt32(SLICE_SIZE, slice.getSize());
+        }
+        if (slice.isHasNext()) {
+            coded.writeBool(SLICE_HAS_NEXT, true);
+        }
+        writeString(SLICE_NEXT_CURSOR, slice.getNextCursor(), coded);
+        coded.flush();
+    }
+
+    /**
+     * Reads a {@code Team} message. Unknown fields are skipped, absent fields are left {@code null}, except the
+     * players which are then empty.
+     *
+     * @param input The stream holding the message and nothing else.
+     * @return The team read.
+     * @throws IOException If the stream cannot be read or does not hold a valid message.
+     */
+    public static TeamDto readTeam(InputStream input) throws IOException {
+        CodedInputStream coded = CodedInputStream.newInstance(input);
+        TeamDto team = new TeamDto();
+        List<PlayerDto> players = new ArrayList<>();
+        int tag;
+        while ((tag = coded.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case TEAM_NAME -> team.setName(coded.readStringRequireUtf8());
+                case TEAM_ACRONYM -> team.setAcronym(coded.readStringRequireUtf8());
+                case TEAM_PLAYERS -> players.add(readPlayer(coded));
+                case TEAM_BUDGET -> team.setBudget(readDecimal(coded));
+                default -> coded.skipField(tag);
+            }
+        }
+        team.setPlayers(players);
+        return team;
+    }
+
+    private static PlayerDto readPlayer(CodedInputStream coded) throws IOException {
+        int previousLimit = coded.pushLimit(coded.readRawVarint32());
+        PlayerDto player = new PlayerDto();
+        int tag;
+        while ((tag = coded.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case PLAYER_NAME -> player.setName(coded.readStringRequireUtf8());
+                case PLAYER_POSITION -> player.setPosition(coded.readStringRequireUtf8());
+                default -> coded.skipField(tag);
+            }
+        }
+        coded.popLimit(previousLimit);
+        return player;
+    }
+
+    private static BigDecimal readDecimal(CodedInputStream coded) throws IOException {
+        String value = coded.readStringRequireUtf8();
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidProtocolBufferException("budget is not a decimal number: " + value);
+        }
+    }
+
+    private static void writeTeamMessage(int field, TeamDto team, CodedOutputStream coded) throws IOException {
+        coded.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        coded.writeUInt32NoTag(teamSize(team));
+        writeTeamFields(team, coded);
+    }
+
+    private static void writeTeamFields(TeamDto team, CodedOutputStream coded) throws IOException {
+        writeString(TEAM_NAME, team.getName(), coded);
+        writeString(TEAM_ACRONYM, team.getAcronym(), coded);
+        if (team.getPlayers() != null) {
+            for (PlayerDto player : team.getPlayers()) {
+                coded.writeTag(TEAM_PLAYERS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                coded.writeUInt32NoTag(playerSize(player));
+                writeString(PLAYER_NAME, player.getName(), coded);
+                writeString(PLAYER_POSITION, player.getPosition(), coded);
+            }
+        }
+        writeString(TEAM_BUDGET, decimal(team.getBudget()), coded);
+    }
+
+    private static int teamSize(TeamDto team) {
+        int size = stringSize(TEAM_NAME, team.getName()) + stringSize(TEAM_ACRONYM, team.getAcronym())
+                + stringSize(TEAM_BUDGET, decimal(team.getBudget()));
+        if (team.getPlayers() != null) {
+            for (PlayerDto player : team.getPlayers()) {
+                int playerSize = playerSize(player);
+                size += CodedOutputStream.computeTagSize(TEAM_PLAYERS)
+                        + CodedOutputStream.computeUInt32SizeNoTag(playerSize) + playerSize;
+            }
+        }
+        return size;
+    }
+
+    private static int playerSize(PlayerDto player) {
+        return stringSize(PLAYER_NAME, player.getName()) + stringSize(PLAYER_POSITION, player.getPosition());
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+
+    private static void writeString(int field, String value, CodedOutputStream coded) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            coded.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+}
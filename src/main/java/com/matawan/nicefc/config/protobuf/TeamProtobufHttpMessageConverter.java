@@ -0,0 +1,64 @@
+package com.matawan.nicefc.config.protobuf;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Converter of the team API bodies to and from {@code application/x-protobuf}, with {@link TeamProtobufCodec}.
+ *
+ * <p>It writes a team, a page or slice of the paged listing and a slice of the keyset pagination, and reads a
+ * team. Other bodies, such as the error messages, are left to the other converters.
+ */
+public class TeamProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * Constructs a new TeamProtobufHttpMessageConverter for {@code application/x-protobuf}.
+     */
+    public TeamProtobufHttpMessageConverter() {
+        super(ProtobufHttpMessageConverter.PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TeamDto.class == clazz || TeamSliceDto.class == clazz || Slice.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return TeamDto.class == clazz && canRead(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return TeamProtobufCodec.readTeam(inputMessage.getBody());
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageNotReadableException("invalid protobuf team: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof TeamDto team) {
+            TeamProtobufCodec.writeTeam(team, outputMessage.getBody());
+        } else if (body instanceof TeamSliceDto slice) {
+            TeamProtobufCodec.writeTeamSlice(slice, outputMessage.getBody());
+        } else if (body instanceof Slice<?> teams && teams.getContent().stream().allMatch(TeamDto.class::isInstance)) {
+            TeamProtobufCodec.writeTeamPage((Slice<TeamDto>) teams, outputMessage.getBody());
+        } else {
+            throw new HttpMessageNotWritableException("no protobuf message for " + body.getClass().getName());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.matawan.nicefc.config.routing;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Embedded PostGreSQL instances replicating the embedded primary through streaming replication,
+ * standing in for the read replicas when testing locally.
+ *
+ * <p>The bundled PostGreSQL binaries have no {@code pg_basebackup}, so each replica is created from a low-level
+ * base backup: the data directory of the primary is copied between {@code pg_start_backup} and
+ * {@code pg_stop_backup}, then started in standby mode with a {@code recovery.conf} streaming the write-ahead
+ * log from the primary. The primary must keep enough write-ahead log segments for the copy to catch up.
+ */
+public class EmbeddedReplicas implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedReplicas.class);
+
+    private static final Set<String> EXCLUDED_FILES = Set.of("postmaster.pid", "postmaster.opts", "epg-lock");
+    private static final Set<String> EMPTIED_DIRECTORIES = Set.of("pg_wal", "pg_replslot", "pg_stat_tmp");
+
+    private final List<EmbeddedPostgres> replicas = new ArrayList<>();
+    private final List<Path> dataDirectories = new ArrayList<>();
+
+    /**
+     * Starts the replicas of the embedded primary.
+     *
+     * @param primary The running embedded primary.
+     * @param count   The number of replicas to start.
+     * @throws IOException  If a replica cannot be created or started.
+     * @throws SQLException If the base backup cannot be taken.
+     */
+    public EmbeddedReplicas(EmbeddedPostgres primary, int count) throws IOException, SQLException {
+        try {
+            for (int i = 0; i < count; i++) {
+                Path dataDirectory = Files.createTempDirectory("nicefc-replica-");
+                dataDirectories.add(dataDirectory);
+                baseBackup(primary, dataDirectory);
+                replicas.add(EmbeddedPostgres.builder()
+                        .setDataDirectory(dataDirectory)
+                        .setCleanDataDirectory(false)
+                        .setServerConfig("hot_standby", "on")
+                        .start());
+                logger.info("Embedded PostGreSQL replica {} streaming from port {} started on port {}.",
+                        i + 1, primary.getPort(), replicas.get(i).getPort());
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the JDBC URLs of the replicas.
+     *
+     * @return One URL per replica.
+     */
+    public List<String> getJdbcUrls() {
+        return replicas.stream().map(replica -> replica.getJdbcUrl("postgres", "postgres")).toList();
+    }
+
+    /**
+     * Stops the replicas and deletes their data directories.
+     */
+    @Override
+    public void close() {
+        for (EmbeddedPostgres replica : replicas) {
+            try {
+                replica.close();
+            } catch (IOException e) {
+                logger.warn("could not stop an embedded replica: {}", e.getMessage());
+            }
+        }
+        for (Path dataDirectory : dataDirectories) {
+            try {
+                FileSystemUtils.deleteRecursively(dataDirectory);
+            } catch (IOException e) {
+                logger.warn("could not delete {}: {}", dataDirectory, e.getMessage());
+            }
+        }
+    }
+
+    private static void baseBackup(EmbeddedPostgres primary, Path target) throws IOException, SQLException {
+        try (Connection connection = primary.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            Path source;
+            try (ResultSet resultSet = statement.executeQuery("show data_directory")) {
+                resultSet.next();
+                source = Paths.get(resultSet.getString(1));
+            }
+            statement.execute("select pg_start_backup('nicefc-replica', true)");
+            try {
+                copy(source, target);
+            } finally {
+                statement.execute("select pg_stop_backup()");
+            }
+        }
+        Files.writeString(target.resolve("recovery.conf"), "standby_mode = 'on'\n"
+                + "primary_conninfo = 'host=localhost port=" + primary.getPort() + " user=postgres'\n");
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rwx------"));
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (Stream<Path> children = Files.list(source)) {
+            for (Path child : (Iterable<Path>) children::iterator) {
+                String name = child.getFileName().toString();
+                Path copy = target.resolve(name);
+                if (Files.isDirectory(child)) {
+                    Files.createDirectories(copy);
+                    if (EMPTIED_DIRECTORIES.contains(name)) {
+                        // the write-ahead log is streamed from the primary, only the layout is kept
+                        if (name.equals("pg_wal")) {
+                            Files.createDirectories(copy.resolve("archive_status"));
+                        }
+                    } else {
+                        copy(child, copy);
+                    }
+                } else if (!EXCLUDED_FILES.contains(name)) {
+                    try {
+                        Files.copy(child, copy);
+                    } catch (NoSuchFileException e) {
+                        // files removed by the primary during the copy are not needed by the replica
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.matawan.nicefc.config.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource sending read-only transactions to the read replicas and everything else to the primary.
+ *
+ * <p>The connection is chosen when it is first used, so this DataSource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the read-only flag of the
+ * transaction is only known once it has begun.
+ *
+ * <p>A background task polls the write-ahead log position of the primary and the position replayed by each
+ * replica. A read goes to a replica only if it is reachable, has replayed the position required by
+ * {@link ReadYourWrites}, and lags the primary by no more than the configured number of bytes; otherwise it
+ * goes to the primary. Since the polled positions only move forward, a replica is never assumed further
+ * ahead than it is.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    // the insert position rather than the write position, which lags behind asynchronous commits
+    private static final String CURRENT_LSN = "select pg_current_wal_insert_lsn() - '0/0'::pg_lsn";
+    private static final String REPLAY_LSN = "select pg_last_wal_replay_lsn() - '0/0'::pg_lsn";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelectionStrategy strategy;
+    private final long maxLagBytes;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService poller;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter writes;
+    private volatile long primaryLsn;
+
+    /**
+     * Constructor for the ReadWriteRoutingDataSource class. It starts polling the replicas.
+     *
+     * @param primary        The pool of connections to the primary.
+     * @param replicaPools   The pools of connections to the replicas.
+     * @param strategy       How a replica is chosen among the up-to-date ones.
+     * @param maxLagBytes    How far behind the primary a replica may be and still serve reads.
+     * @param pollInterval   How often the positions of the primary and of the replicas are read.
+     * @param readYourWrites The positions reads must have caught up with.
+     * @param meterRegistry  The registry of the routing metrics.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                      ReplicaSelectionStrategy strategy, long maxLagBytes, Duration pollInterval,
+                                      ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.strategy = strategy;
+        this.maxLagBytes = maxLagBytes;
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        List<Replica> replicaList = new ArrayList<>();
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicaList.add(replica);
+            targets.put(replica.name, pool);
+            Gauge.builder("nicefc.datasource.replica.lag", replica, r -> r.available ? Math.max(0, primaryLsn - r.replayLsn) : Double.NaN)
+                    .description("Bytes of write-ahead log the replica has not replayed yet")
+                    .baseUnit("bytes")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        this.replicas = List.copyOf(replicaList);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.primaryReads = routingCounter(meterRegistry, "read", PRIMARY);
+        this.replicaReads = routingCounter(meterRegistry, "read", "replica");
+        this.writes = routingCounter(meterRegistry, "write", PRIMARY);
+
+        poll();
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "nicefc-replica-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Chooses the primary for writes and for reads no replica can serve, and a replica otherwise.
+     * A write within a transaction records the position of the primary once committed.
+     *
+     * @return The key of the chosen DataSource.
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new WriteSynchronization());
+            }
+            return PRIMARY;
+        }
+        Replica replica = selectReplica(readYourWrites.requiredLsn());
+        if (replica == null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        return replica.name;
+    }
+
+    private Replica selectReplica(long requiredLsn) {
+        long minLsn = Math.max(requiredLsn, primaryLsn - maxLagBytes);
+        int size = replicas.size();
+        if (strategy == ReplicaSelectionStrategy.ROUND_ROBIN) {
+            int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (replica.isCaughtUp(minLsn)) {
+                    return replica;
+                }
+            }
+            return null;
+        }
+        Replica selected = null;
+        int selectedActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (replica.isCaughtUp(minLsn)) {
+                int active = replica.pool.getHikariPoolMXBean() == null ? 0 : replica.pool.getHikariPoolMXBean().getActiveConnections();
+                if (active < selectedActive) {
+                    selected = replica;
+                    selectedActive = active;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Reads the position of the primary and the position replayed by each replica.
+     * A replica that cannot be reached stops serving reads until it answers again.
+     */
+    void poll() {
+        try {
+            primaryLsn = queryLsn(primary, CURRENT_LSN);
+        } catch (SQLException e) {
+            logger.warn("could not read the write-ahead log position of the primary: {}", e.getMessage());
+        }
+        for (Replica replica : replicas) {
+            try {
+                replica.replayLsn = queryLsn(replica.pool, REPLAY_LSN);
+                if (!replica.available) {
+                    replica.available = true;
+                    logger.info("replica {} serves reads", replica.name);
+                }
+            } catch (SQLException e) {
+                if (replica.available) {
+                    replica.available = false;
+                    logger.warn("replica {} no longer serves reads: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long queryLsn(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            long lsn = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                throw new SQLException("not a streaming replica");
+            }
+            return lsn;
+        }
+    }
+
+    /**
+     * Stops polling the replicas and closes their pools. The primary pool is left to its owner.
+     */
+    @Override
+    public void close() {
+        poller.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String operation, String target) {
+        return Counter.builder("nicefc.datasource.routing")
+                .description("Connections handed out by the read/write routing DataSource")
+                .tag("operation", operation)
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the position of the primary once a write transaction has committed, before the listeners
+     * notified of the commit read anything.
+     */
+    private final class WriteSynchronization implements TransactionSynchronization {
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                long lsn = queryLsn(primary, CURRENT_LSN);
+                primaryLsn = Math.max(primaryLsn, lsn);
+                readYourWrites.recordWrite(lsn);
+            } catch (SQLException e) {
+                // the replicas still have to catch up with the latest position polled from the primary
+                readYourWrites.recordWrite(primaryLsn);
+                logger.warn("could not read the write-ahead log position after a commit: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A replica with the position it was last seen to have replayed.
+     */
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile long replayLsn;
+        private volatile boolean available;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+
+        private boolean isCaughtUp(long minLsn) {
+            return available && replayLsn >= minLsn;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.matawan.nicefc.config.routing;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the write-ahead log positions that reads must have caught up with, so that data just written is read
+ * back from the primary rather than from a replica that has not replayed it yet.
+ *
+ * <p>Two positions can be required of a read:
+ * <ul>
+ *     <li>the position sent back by the current client, whose previous write may have gone through another
+ *     instance. It is bound to the thread handling the request by {@link ReadYourWritesFilter}, and carried to
+ *     the threads the request hands work to by {@link #decorate(Runnable)};</li>
+ *     <li>a position passed by {@link #readAtLeast(long, Supplier)}, for reads whose result is shared with every
+ *     client, such as a cached listing, which must hold the writes it is versioned after.</li>
+ * </ul>
+ * Other reads only require a replica within the lag allowed by {@link ReadWriteRoutingDataSource}, so steady
+ * writes do not send every read to the primary.
+ */
+public class ReadYourWrites implements TaskDecorator {
+
+    private final AtomicLong lastWriteLsn = new AtomicLong();
+    private final ThreadLocal<ClientState> clientState = new ThreadLocal<>();
+    private final ThreadLocal<Long> sharedReadLsn = new ThreadLocal<>();
+
+    /**
+     * Retrieves the position a replica must have replayed to serve a read on the current thread.
+     *
+     * @return The required write-ahead log position, in bytes, {@code 0} when no write is required.
+     */
+    public long requiredLsn() {
+        ClientState state = clientState.get();
+        Long shared = sharedReadLsn.get();
+        return Math.max(state == null ? 0 : state.lsn, shared == null ? 0 : shared);
+    }
+
+    /**
+     * Tells whether the client handled by the current thread has a write its reads must take into account.
+     *
+     * @return {@code true} if the client sent back or made a write.
+     */
+    public boolean hasClientWrite() {
+        ClientState state = clientState.get();
+        return state != null && state.lsn > 0;
+    }
+
+    /**
+     * Retrieves the position after the latest write committed by this instance.
+     *
+     * @return The write-ahead log position, in bytes, {@code 0} before the first write.
+     */
+    public long getLastWriteLsn() {
+        return lastWriteLsn.get();
+    }
+
+    /**
+     * Records the position of a write just committed on the primary, and reports it to the current client.
+     *
+     * @param lsn The write-ahead log position of the primary after the commit, in bytes.
+     */
+    public void recordWrite(long lsn) {
+        lastWriteLsn.accumulateAndGet(lsn, Math::max);
+        ClientState state = clientState.get();
+        if (state != null && lsn > state.lsn) {
+            state.lsn = lsn;
+            state.onWrite.accept(lsn);
+        }
+    }
+
+    /**
+     * Runs reads on the current thread on the primary or on a replica that has replayed the given position,
+     * on top of the position of the current client.
+     *
+     * @param lsn  The write-ahead log position the reads must see, in bytes.
+     * @param read The reads.
+     * @param <T>  The type of the result.
+     * @return The result of the reads.
+     */
+    public <T> T readAtLeast(long lsn, Supplier<T> read) {
+        Long previous = sharedReadLsn.get();
+        sharedReadLsn.set(previous == null ? lsn : Math.max(previous, lsn));
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                sharedReadLsn.remove();
+            } else {
+                sharedReadLsn.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Binds the position sent back by a client to the current thread until {@link #end()}.
+     *
+     * @param lsn     The position of the client's previous write, {@code 0} if unknown.
+     * @param onWrite Called with the new position when the client writes during the request.
+     */
+    public void begin(long lsn, LongConsumer onWrite) {
+        clientState.set(new ClientState(lsn, onWrite));
+    }
+
+    /**
+     * Unbinds the client's position from the current thread.
+     */
+    public void end() {
+        clientState.remove();
+    }
+
+    /**
+     * Binds the position of the client of the submitting thread to the thread running the task, such as the
+     * thread writing a {@code StreamingResponseBody} once the request thread has been released.
+     *
+     * @param runnable The task submitted on behalf of the current client.
+     * @return The task, run with the position of the client.
+     */
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        ClientState state = clientState.get();
+        if (state == null) {
+            return runnable;
+        }
+        return () -> {
+            ClientState previous = clientState.get();
+            clientState.set(state);
+            try {
+                runnable.run();
+            } finally {
+                if (previous == null) {
+                    clientState.remove();
+                } else {
+                    clientState.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * The position of the client handled by a thread.
+     */
+    private static final class ClientState {
+        private volatile long lsn;
+        private final LongConsumer onWrite;
+
+        private ClientState(long lsn, LongConsumer onWrite) {
+            this.lsn = lsn;
+            this.onWrite = onWrite;
+        }
+    }
+}
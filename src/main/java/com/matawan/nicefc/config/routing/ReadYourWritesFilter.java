@@ -0,0 +1,71 @@
+package com.matawan.nicefc.config.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the write-ahead log position of a client's latest write in a cookie, so that its next reads
+ * wait for a replica that has replayed it, whichever instance serves them.
+ *
+ * <p>The cookie is set while the write commits, before the response body is written.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    /**
+     * The name of the cookie holding the position, in hexadecimal.
+     */
+    public static final String COOKIE_NAME = "NICEFC_WRITE_LSN";
+
+    private final ReadYourWrites readYourWrites;
+    private final Duration maxAge;
+
+    /**
+     * Constructor for the ReadYourWritesFilter class.
+     *
+     * @param readYourWrites The positions reads must have caught up with.
+     * @param maxAge         How long a client's reads take its latest write into account.
+     */
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites, Duration maxAge) {
+        this.readYourWrites = readYourWrites;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWrites.begin(clientLsn(request), lsn -> {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toHexString(lsn));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) maxAge.toSeconds());
+            response.addCookie(cookie);
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    private static long clientLsn(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseUnsignedLong(cookie.getValue(), 16);
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.matawan.nicefc.config.routing;
+
+/**
+ * Strategies choosing which read replica serves a read-only transaction, among the replicas that are up to date.
+ */
+public enum ReplicaSelectionStrategy {
+
+    /**
+     * Takes the replicas in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Takes the replica whose pool has the fewest connections in use.
+     */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,77 @@
+package com.matawan.nicefc.config.startup;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Training run recording the class-data-sharing archive of the {@code cds} Maven profile: once the application is
+ * ready, it sends {@code nicefc.cds.training-requests} rounds of {@code POST /api/teams} and
+ * {@code GET /api/teams} to itself, then exits, so that the JVM started with {@code -XX:ArchiveClassesAtExit} dumps
+ * every class loaded to start the application and to serve these requests.
+ *
+ * <p>A failed request fails the run, and so the build, rather than recording an archive missing the request path.
+ */
+@Component
+@ConditionalOnExpression("${nicefc.cds.training-requests:0} > 0")
+public class CdsTrainingRun {
+    private static final Logger logger = LoggerFactory.getLogger(CdsTrainingRun.class);
+
+    private final int trainingRequests;
+
+    /**
+     * Constructor for the CdsTrainingRun class.
+     *
+     * @param trainingRequests The number of rounds of requests sent before exiting.
+     */
+    public CdsTrainingRun(@Value("${nicefc.cds.training-requests}") int trainingRequests) {
+        this.trainingRequests = trainingRequests;
+    }
+
+    /**
+     * Sends the training requests to the application, then exits.
+     *
+     * @param event The event signaling that the application is ready.
+     * @throws IllegalStateException If a request is not served successfully.
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        String baseUrl = "http://localhost:" + event.getApplicationContext().getEnvironment().getProperty("local.server.port") + "/api/teams";
+        RestTemplate client = new RestTemplate();
+        // names unique to this run, in case the embedded server keeps its data across launches
+        String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+        long start = System.nanoTime();
+        for (int i = 0; i < trainingRequests; i++) {
+            TeamDto team = new TeamDto();
+            team.setName("Training " + run + " " + i);
+            team.setAcronym("TRN");
+            team.setBudget(BigDecimal.valueOf(1_000_000));
+            team.setPlayers(List.of(new PlayerDto("Goalkeeper " + i, "GK"), new PlayerDto("Striker " + i, "ST")));
+            check(client.postForEntity(baseUrl, team, String.class), HttpStatus.CREATED);
+            check(client.getForEntity(baseUrl + "?page={page}&size=20&sortBy=name", String.class, i % 3), HttpStatus.OK);
+            check(client.getForEntity(baseUrl + "?size=20&sortBy=budget&count=false", String.class), HttpStatus.OK);
+        }
+        logger.info("CDS training run: {} rounds of POST and GET /api/teams served in {} ms, exiting.",
+                trainingRequests, (System.nanoTime() - start) / 1_000_000);
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    private static void check(ResponseEntity<String> response, HttpStatus expected) {
+        if (response.getStatusCode() != expected) {
+            throw new IllegalStateException("training request answered " + response.getStatusCode() + ": " + response.getBody());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.matawan.nicefc.config.startup;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Stops the embedded PostGreSQL instance before a CRaC checkpoint and starts it again after the restore, since a
+ * checkpoint cannot hold the sockets and the child process of a running server.
+ *
+ * <p>The instance is restarted on the same port, so that the connection pool reconnects with its JDBC URL, and on
+ * the same data directory, which must therefore be persistent ({@code nicefc.embedded.data-directory}). It stops in
+ * the last phase, after the connection pool has been suspended and its connections closed, and starts in the first
+ * one, before the pool resumes.
+ */
+public class EmbeddedPostgresCheckpointRestoreLifecycle implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedPostgresCheckpointRestoreLifecycle.class);
+
+    private final Path dataDirectory;
+    private final int port;
+    private volatile EmbeddedPostgres instance;
+
+    /**
+     * Constructor for the EmbeddedPostgresCheckpointRestoreLifecycle class.
+     *
+     * @param instance      The running embedded PostGreSQL instance.
+     * @param dataDirectory The persistent data directory of the instance.
+     * @throws IllegalStateException If the instance runs on a temporary data directory, deleted when it stops.
+     */
+    public EmbeddedPostgresCheckpointRestoreLifecycle(EmbeddedPostgres instance, Path dataDirectory) {
+        if (dataDirectory == null) {
+            throw new IllegalStateException("restarting the embedded PostGreSQL instance after a restore requires "
+                    + "a persistent nicefc.embedded.data-directory");
+        }
+        this.instance = instance;
+        this.dataDirectory = dataDirectory;
+        this.port = instance.getPort();
+    }
+
+    /**
+     * Starts the instance again on the same port and data directory, if it was stopped.
+     *
+     * @throws UncheckedIOException If the instance could not be started.
+     */
+    @Override
+    public synchronized void start() {
+        if (instance != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            instance = EmbeddedPostgres.builder().setDataDirectory(dataDirectory).setCleanDataDirectory(false).setPort(port).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Embedded PostGreSQL instance restarted on port {} in {} ms.", port, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Stops the instance, keeping its data directory.
+     *
+     * @throws UncheckedIOException If the instance could not be stopped.
+     */
+    @Override
+    public synchronized void stop() {
+        if (instance == null) {
+            return;
+        }
+        try {
+            instance.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        instance = null;
+        logger.info("Embedded PostGreSQL instance on port {} stopped.", port);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return instance != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Retrieves the instance currently running.
+     *
+     * @return The running instance, or {@code null} while it is stopped.
+     */
+    public EmbeddedPostgres getInstance() {
+        return instance;
+    }
+}
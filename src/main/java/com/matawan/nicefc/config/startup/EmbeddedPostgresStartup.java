@@ -0,0 +1,141 @@
+package com.matawan.nicefc.config.startup;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Start of the embedded PostGreSQL instance on a background thread, so that it runs while the application
+ * context is being refreshed rather than before it.
+ *
+ * <p>When {@code nicefc.embedded.data-directory} is set, the instance keeps its data in that directory across
+ * launches: {@code initdb} only runs when the directory holds no cluster yet, and the data is not deleted when
+ * the instance stops. Otherwise a new cluster is created in a temporary directory on each launch.
+ */
+public class EmbeddedPostgresStartup {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedPostgresStartup.class);
+
+    private final Path dataDirectory;
+    private final boolean initdbSkipped;
+    private final CompletableFuture<EmbeddedPostgres> instance;
+    private volatile Duration startDuration;
+    private volatile Duration waitDuration = Duration.ZERO;
+
+    private EmbeddedPostgresStartup(Path dataDirectory, int embeddedReplicas) throws IOException {
+        if (dataDirectory != null) {
+            Files.createDirectories(dataDirectory);
+        }
+        this.dataDirectory = dataDirectory;
+        this.initdbSkipped = dataDirectory != null && Files.exists(dataDirectory.resolve("postgresql.conf"));
+        EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder();
+        if (dataDirectory != null) {
+            builder.setDataDirectory(dataDirectory).setCleanDataDirectory(false);
+        }
+        if (embeddedReplicas > 0) {
+            // keep enough write-ahead log segments for the embedded replicas to catch up after their base backup
+            builder.setServerConfig("wal_keep_segments", "64");
+        }
+        long start = System.nanoTime();
+        this.instance = CompletableFuture.supplyAsync(() -> {
+            try {
+                EmbeddedPostgres started = builder.start();
+                startDuration = Duration.ofNanos(System.nanoTime() - start);
+                return started;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, runnable -> {
+            Thread thread = new Thread(runnable, "nicefc-embedded-postgres-startup");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Starts the embedded PostGreSQL instance configured by the environment in the background.
+     *
+     * @param environment The environment of the application being started.
+     * @return The pending start.
+     * @throws UncheckedIOException If the data directory cannot be created.
+     */
+    public static EmbeddedPostgresStartup begin(Environment environment) {
+        String dataDirectory = environment.getProperty("nicefc.embedded.data-directory", "");
+        EmbeddedPostgresStartup startup;
+        try {
+            startup = new EmbeddedPostgresStartup(dataDirectory.isEmpty() ? null : Paths.get(dataDirectory),
+                    environment.getProperty("nicefc.datasource.replicas.embedded", Integer.class, 0));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Starting the embedded PostGreSQL instance in the background{}.", startup.dataDirectory == null ? ""
+                : startup.initdbSkipped ? " on the existing cluster in " + startup.dataDirectory
+                : " on a new cluster in " + startup.dataDirectory);
+        return startup;
+    }
+
+    /**
+     * Waits for the embedded PostGreSQL instance to be running.
+     *
+     * @return The running embedded PostGreSQL instance.
+     * @throws IOException If the instance could not be started.
+     */
+    public EmbeddedPostgres await() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return instance.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        } finally {
+            waitDuration = waitDuration.plusNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Retrieves the persistent data directory of the instance.
+     *
+     * @return The data directory, or {@code null} if the cluster is created in a temporary directory.
+     */
+    public Path getDataDirectory() {
+        return dataDirectory;
+    }
+
+    /**
+     * Tells whether the instance reuses an existing cluster rather than running {@code initdb}.
+     *
+     * @return {@code true} if {@code initdb} was skipped.
+     */
+    public boolean isInitdbSkipped() {
+        return initdbSkipped;
+    }
+
+    /**
+     * Retrieves how long the instance took to start, in the background.
+     *
+     * @return The start duration, or {@code null} if it is not running yet.
+     */
+    public Duration getStartDuration() {
+        return startDuration;
+    }
+
+    /**
+     * Retrieves how long the application context was blocked waiting for the instance.
+     *
+     * @return The time spent in {@link #await()}.
+     */
+    public Duration getWaitDuration() {
+        return waitDuration;
+    }
+}
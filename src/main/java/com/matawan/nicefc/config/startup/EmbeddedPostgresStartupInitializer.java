@@ -0,0 +1,27 @@
+package com.matawan.nicefc.config.startup;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the embedded PostGreSQL instance before the application context is refreshed, unless
+ * {@code spring.datasource.url} points to an external server.
+ *
+ * <p>The pending start is registered as the {@value #BEAN_NAME} singleton, which the {@code embeddedPostgres} bean
+ * waits for. Registered in {@code META-INF/spring.factories}, so that it also applies to the test contexts.
+ */
+public class EmbeddedPostgresStartupInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    /**
+     * The name of the singleton holding the pending start.
+     */
+    public static final String BEAN_NAME = "embeddedPostgresStartup";
+
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext) {
+        if (applicationContext.getEnvironment().getProperty("spring.datasource.url", "").isEmpty()) {
+            applicationContext.getBeanFactory().registerSingleton(BEAN_NAME,
+                    EmbeddedPostgresStartup.begin(applicationContext.getEnvironment()));
+        }
+    }
+}
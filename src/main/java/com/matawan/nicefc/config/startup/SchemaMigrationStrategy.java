@@ -0,0 +1,129 @@
+package com.matawan.nicefc.config.startup;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * Applies the versioned migrations of the schema, once per set of migrations on a persistent embedded cluster.
+ *
+ * <p>Flyway validates the applied migrations against the ones on the classpath and migrates the schema.
+ * On the persistent cluster of the embedded instance, a fingerprint of the migration scripts is kept in its data
+ * directory after a successful migration: as long as the scripts do not change, later launches skip Flyway
+ * altogether. In any other case the migrations are applied on each launch.
+ */
+@Component
+public class SchemaMigrationStrategy implements FlywayMigrationStrategy {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationStrategy.class);
+
+    static final String FINGERPRINT_FILE = "nicefc-migrations.sha256";
+
+    private final ObjectProvider<EmbeddedPostgresStartup> embeddedPostgresStartup;
+    private volatile Duration duration;
+    private volatile String outcome;
+
+    /**
+     * Constructor for the SchemaMigrationStrategy class.
+     *
+     * @param embeddedPostgresStartup The start of the embedded instance, absent when an external server is configured.
+     */
+    public SchemaMigrationStrategy(ObjectProvider<EmbeddedPostgresStartup> embeddedPostgresStartup) {
+        this.embeddedPostgresStartup = embeddedPostgresStartup;
+    }
+
+    /**
+     * Migrates the schema, unless the persistent cluster was already migrated with the same scripts.
+     *
+     * @param flyway The configured Flyway instance.
+     */
+    @Override
+    public void migrate(Flyway flyway) {
+        long start = System.nanoTime();
+        EmbeddedPostgresStartup startup = embeddedPostgresStartup.getIfAvailable();
+        Path fingerprintFile = startup == null || startup.getDataDirectory() == null ? null
+                : startup.getDataDirectory().resolve(FINGERPRINT_FILE);
+        try {
+            String fingerprint = fingerprintFile == null ? null : fingerprint(flyway.getConfiguration().getLocations());
+            if (fingerprint != null && Files.exists(fingerprintFile) && Files.readString(fingerprintFile).equals(fingerprint)) {
+                outcome = "skipped, scripts unchanged";
+            } else {
+                MigrateResult result = flyway.migrate();
+                outcome = result.migrationsExecuted + " applied, schema at version " + result.targetSchemaVersion;
+                if (fingerprint != null) {
+                    Files.writeString(fingerprintFile, fingerprint);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        duration = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("Schema migration {} in {} ms.", outcome, duration.toMillis());
+    }
+
+    /**
+     * Retrieves how long the schema migration took.
+     *
+     * @return The migration duration, or {@code null} if it has not run.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Describes what the schema migration did.
+     *
+     * @return The number of applied migrations or why they were skipped, or {@code null} if it has not run.
+     */
+    public String getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Hashes the names and contents of the migration scripts found at the given locations.
+     *
+     * @param locations The locations of the migration scripts.
+     * @return The hexadecimal SHA-256 of the scripts.
+     * @throws IOException If a script cannot be read.
+     */
+    static String fingerprint(Location[] locations) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        for (Location location : locations) {
+            String prefix = location.isFileSystem() ? "file:" : "classpath*:";
+            Resource[] scripts = resolver.getResources(prefix + location.getRootPath() + "/**/*.sql");
+            Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+            for (Resource script : scripts) {
+                digest.update(script.getFilename().getBytes(StandardCharsets.UTF_8));
+                try (InputStream content = script.getInputStream()) {
+                    digest.update(content.readAllBytes());
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,118 @@
+package com.matawan.nicefc.config.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports how long each phase of the startup took once the application is ready, in the log and as the
+ * {@code nicefc.startup.phase} metric, so that startup regressions can be tracked:
+ * <ul>
+ *     <li>{@code embedded-postgres}: start of the embedded instance, in the background;</li>
+ *     <li>{@code embedded-postgres-wait}: time the context refresh was blocked waiting for it;</li>
+ *     <li>{@code schema-migration}: Flyway migration, or its skipping;</li>
+ *     <li>{@code jpa} and {@code context-refresh}: creation of the entity manager factory and refresh of the whole
+ *     context, when the application is started with a {@link BufferingApplicationStartup} as by its main method;</li>
+ *     <li>{@code ready}: time from the start of the application until it is ready to serve requests.</li>
+ * </ul>
+ * The detailed steps are served by {@code GET /actuator/startup}.
+ */
+@Component
+public class StartupTimingsReporter {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingsReporter.class);
+
+    private final ObjectProvider<EmbeddedPostgresStartup> embeddedPostgresStartup;
+    private final ObjectProvider<SchemaMigrationStrategy> schemaMigrationStrategy;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+
+    /**
+     * Constructor for the StartupTimingsReporter class.
+     *
+     * @param embeddedPostgresStartup The start of the embedded instance, absent when an external server is configured.
+     * @param schemaMigrationStrategy The schema migration, absent when Flyway is disabled.
+     * @param meterRegistry           The registry of the startup metrics.
+     */
+    public StartupTimingsReporter(ObjectProvider<EmbeddedPostgresStartup> embeddedPostgresStartup,
+                                  ObjectProvider<SchemaMigrationStrategy> schemaMigrationStrategy,
+                                  MeterRegistry meterRegistry) {
+        this.embeddedPostgresStartup = embeddedPostgresStartup;
+        this.schemaMigrationStrategy = schemaMigrationStrategy;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Collects the duration of each phase, then logs and publishes them.
+     *
+     * @param event The event signaling that the application is ready.
+     */
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        StringBuilder details = new StringBuilder();
+        EmbeddedPostgresStartup startup = embeddedPostgresStartup.getIfAvailable();
+        if (startup != null && startup.getStartDuration() != null) {
+            phases.put("embedded-postgres", startup.getStartDuration());
+            phases.put("embedded-postgres-wait", startup.getWaitDuration());
+            details.append(startup.isInitdbSkipped() ? ", initdb skipped" : ", initdb run");
+        }
+        SchemaMigrationStrategy migration = schemaMigrationStrategy.getIfAvailable();
+        if (migration != null && migration.getDuration() != null) {
+            phases.put("schema-migration", migration.getDuration());
+            details.append(", migration ").append(migration.getOutcome());
+        }
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup buffering) {
+            for (StartupTimeline.TimelineEvent step : buffering.getBufferedTimeline().getEvents()) {
+                if (step.getStartupStep().getName().equals("spring.context.refresh")) {
+                    phases.put("context-refresh", step.getDuration());
+                } else if (step.getStartupStep().getName().equals("spring.beans.instantiate")
+                        && "&entityManagerFactory".equals(tag(step.getStartupStep(), "beanName"))) {
+                    phases.put("jpa", step.getDuration());
+                }
+            }
+        }
+        if (event.getTimeTaken() != null) {
+            phases.put("ready", event.getTimeTaken());
+        }
+
+        StringBuilder summary = new StringBuilder();
+        phases.forEach((phase, duration) -> {
+            summary.append(summary.isEmpty() ? "" : ", ").append(phase).append(' ').append(duration.toMillis()).append(" ms");
+            TimeGauge.builder("nicefc.startup.phase", duration, TimeUnit.MILLISECONDS, Duration::toMillis)
+                    .description("Duration of a phase of the application startup")
+                    .tag("phase", phase)
+                    .register(meterRegistry);
+        });
+        logger.info("Startup phases: {}{}.", summary, details);
+    }
+
+    /**
+     * Retrieves the duration of each phase reported once the application was ready.
+     *
+     * @return The durations by phase name, in the order of the startup.
+     */
+    public Map<String, Duration> getPhases() {
+        return phases;
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+}
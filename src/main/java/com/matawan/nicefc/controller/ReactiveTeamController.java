@@ -0,0 +1,134 @@
+package com.matawan.nicefc.controller;
+
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.exception.ValidationException;
+import com.matawan.nicefc.service.ReactiveTeamService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reactive controller serving the {@code /api/teams} contract of {@link TeamController} on WebFlux.
+ * Selected by the {@code reactive} profile, in place of {@link TeamController}.
+ *
+ * <p>Listings are also available as newline-delimited JSON, streamed to the client as the rows arrive
+ * from the database instead of being buffered as a whole page. The conditional requests, the team events
+ * and the bulk import of the servlet stack are not served by this controller.
+ */
+@RestController
+@RequestMapping(value = "/api/teams")
+@Profile("reactive")
+public class ReactiveTeamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTeamController.class);
+    private final ReactiveTeamService reactiveTeamService;
+    private final Validator validator;
+
+    /**
+     * Constructor for ReactiveTeamController.
+     *
+     * @param reactiveTeamService The service for handling team-related operations without blocking.
+     * @param validator           The validator of the submitted teams.
+     */
+    @Autowired
+    public ReactiveTeamController(ReactiveTeamService reactiveTeamService, Validator validator) {
+        this.reactiveTeamService = reactiveTeamService;
+        this.validator = validator;
+    }
+
+    /**
+     * Endpoint for adding a new team.
+     *
+     * @param teamDto The data transfer object (DTO) representing the team to be added.
+     * @return A {@link Mono} of the ResponseEntity containing the added team DTO if successful.
+     * @throws ValidationException If there are validation errors in the input data.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TeamDto>> addTeam(@RequestBody TeamDto teamDto) {
+
+        // check for constraints violation
+        Set<ConstraintViolation<TeamDto>> violations = validator.validate(teamDto);
+        if(!violations.isEmpty()){
+            List<String> errors = violations.stream()
+                    .map(violation -> violation.getPropertyPath().toString())
+                    .toList();
+            throw new ValidationException("validation error" , errors);
+        }
+
+        // store Team on DB, a duplicated name is rejected by the unique constraint on the team name
+        return reactiveTeamService.addTeam(teamDto)
+                .doOnSuccess(stored -> logger.info("team added successfully"))
+                .thenReturn(new ResponseEntity<>(teamDto, HttpStatus.CREATED));
+    }
+
+    /**
+     * Endpoint for retrieving a page of teams. A client accepting newline-delimited JSON receives the teams
+     * one per line, written as the rows are read so that large pages are never held in memory.
+     *
+     * @param page page number to retrieve.
+     * @param size  size of element in each page.
+     * @param sortBy  field to sort with
+     * @param count  whether the total number of teams is returned; when {@code false} a slice without
+     *               total is returned, for clients that only scroll. Ignored when streaming.
+     * @param request the request, whose {@code Accept} header selects JSON or newline-delimited JSON.
+     * @return A {@link Mono} of the ResponseEntity containing the page of team DTO, or streaming the team DTOs.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getTeams(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "true") boolean count,
+            ServerHttpRequest request){
+        if(!isSortable(sortBy)){
+            return Mono.just(new ResponseEntity<>("field to sort with is invalid ",HttpStatus.BAD_REQUEST));
+        }
+        if(request.getHeaders().getAccept().contains(MediaType.APPLICATION_NDJSON)){
+            return Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                    .body(reactiveTeamService.streamTeams(page,size,sortBy)));
+        }
+        return (count ? reactiveTeamService.getTeams(page,size,sortBy)
+                : reactiveTeamService.getTeamsWithoutCount(page,size,sortBy))
+                .map(teamsDto -> ResponseEntity.ok(teamsDto));
+    }
+
+    /**
+     * Endpoint for retrieving teams with keyset pagination, see {@link TeamController#getTeamsByCursor}.
+     *
+     * @param cursor opaque cursor returned with the previous slice, empty for the first slice.
+     * @param size  size of element in each slice.
+     * @param sortBy  field to sort with
+     * @return A {@link Mono} of the ResponseEntity containing the slice of team DTO if successful.
+     */
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<?>> getTeamsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy){
+        if(!isSortable(sortBy)){
+            return Mono.just(new ResponseEntity<>("field to sort with is invalid ",HttpStatus.BAD_REQUEST));
+        }
+        return reactiveTeamService.getTeams(cursor,size,sortBy)
+                .map(teamsSlice -> ResponseEntity.ok(teamsSlice));
+    }
+
+    private static boolean isSortable(String sortBy){
+        if(!sortBy.equals("name") && !sortBy.equals("acronym") && !sortBy.equals("budget")){
+            logger.error("fields violation constraints on Entities");
+            return false;
+        }
+        return true;
+    }
+}
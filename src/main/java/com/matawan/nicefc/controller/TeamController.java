@@ -2,14 +2,25 @@ package com.matawan.nicefc.controller;
 
 
 import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamListingVersionDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
 import com.matawan.nicefc.exception.ValidationException;
 import com.matawan.nicefc.exception.teamAlreadyExistsException;
+import com.matawan.nicefc.service.TeamEventService;
+import com.matawan.nicefc.service.TeamExportService;
+import com.matawan.nicefc.service.TeamImportService;
 import com.matawan.nicefc.service.TeamService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,7 +28,13 @@ import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.temporal.Temporal;
 import java.util.List;
 
@@ -27,23 +44,42 @@ import static java.util.stream.Collectors.toList;
  * Controller class for handling operations related to teams.
  *
  * This controller provides endpoints for managing teams, such as adding a new team.
+ * It is replaced by {@link ReactiveTeamController} under the {@code reactive} profile.
+ * Teams are read and written as JSON by default, or as CBOR, Smile or Protocol Buffers as negotiated through the
+ * {@code Accept} and {@code Content-Type} headers (see {@code WireFormatConfig}).
+ * The creation and listing endpoints are timed by the {@code nicefc.controller} timer.
  */
 @RestController()
 @RequestMapping(value = "/api/teams")
 @Validated
+@Profile("!reactive")
 public class TeamController {
 
     private static final Logger logger = LoggerFactory.getLogger(TeamController.class);
+    private static final String INVALID_PAGE = "page must not be negative and size must be at least 1";
+    // a slice is read with one extra row to know whether another follows
+    private static final int MAX_SLICE_SIZE = 1000;
+    private static final String INVALID_SLICE_SIZE = "size must be between 1 and " + MAX_SLICE_SIZE;
     private final TeamService teamService;
+    private final TeamImportService teamImportService;
+    private final TeamEventService teamEventService;
+    private final TeamExportService teamExportService;
 
     /**
      * Constructor for TeamController.
      *
      * @param teamService The service for handling team-related operations.
+     * @param teamImportService The service for importing many teams at once.
+     * @param teamEventService The service pushing team creations to subscribed clients.
+     * @param teamExportService The service writing team listings as they are read.
      */
     @Autowired
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService, TeamImportService teamImportService,
+                          TeamEventService teamEventService, TeamExportService teamExportService) {
         this.teamService = teamService;
+        this.teamImportService = teamImportService;
+        this.teamEventService = teamEventService;
+        this.teamExportService = teamExportService;
     }
 
     /**
@@ -55,6 +91,7 @@ public class TeamController {
      * @throws ValidationException       If there are validation errors in the input data.
      * @throws teamAlreadyExistsException If a team with the same name already exists.
      */
+    @Timed("nicefc.controller")
     @PostMapping
     public ResponseEntity<TeamDto> addTeam(@Valid @RequestBody TeamDto teamDto, BindingResult result) {
 
@@ -67,37 +104,191 @@ public class TeamController {
             throw new ValidationException("validation error" , errors);
         }
 
-        // check for Team existence in DB
-        if(teamService.existsByName(teamDto.getName())){
-            logger.warn("team already exists on DB");
-            throw new teamAlreadyExistsException("team already registered");
-        }
-
-        // store Team on DB
+        // store Team on DB, a duplicated name is rejected by the unique constraint on the team name
         teamService.addTeam(teamDto);
         logger.info("team added successfully");
         return new ResponseEntity<>(teamDto, HttpStatus.CREATED);
     }
 
+    /**
+     * Endpoint for importing many teams at once, from a JSON array or from newline-delimited JSON.
+     * The upload is parsed as a stream and stored in chunks, and the per-team report is streamed back
+     * as the chunks are stored, so memory use does not depend on the size of the upload.
+     *
+     * @param request The HTTP request holding the upload.
+     * @return ResponseEntity streaming the import report.
+     * @throws IOException If the upload cannot be opened.
+     */
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importTeams(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        StreamingResponseBody report = outputStream -> teamImportService.importTeams(body, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(report);
+    }
+
+    /**
+     * Endpoint for following team creations as Server-Sent Events, instead of polling the listing.
+     * The connection stays open and holds no thread while idle. A client reconnecting with the
+     * {@code Last-Event-ID} header first receives the creations it missed.
+     *
+     * @param lastEventId id of the last event received before reconnecting, absent for a new client.
+     * @return the emitter the {@code team-created} events are sent through.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTeamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId){
+        return teamEventService.subscribe(lastEventId);
+    }
+
     /**
      * Endpoint for adding a new team.
      *
      * @param page page number to retrieve.
      * @param size  size of element in each page.
      * @param sortBy  field to sort with
-     * @return ResponseEntity containing the added the page of team DTO if successful.
+     * @param count  whether the total number of teams is returned; when {@code false} a slice without
+     *               total is returned, for clients that only scroll.
+     * @param webRequest the request, checked for a conditional {@code If-None-Match} or {@code If-Modified-Since}.
+     * @return ResponseEntity containing the added the page of team DTO if successful,
+     *         or {@code null} once a 304 status is set when the client already has the current page.
      */
+    @Timed("nicefc.controller")
     @GetMapping
     public ResponseEntity<?> getTeams(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sortBy){
+            @RequestParam(defaultValue = "name") String sortBy,
+            @RequestParam(defaultValue = "true") boolean count,
+            WebRequest webRequest){
         if(!sortBy.equals("name") && !sortBy.equals("acronym") && !sortBy.equals("budget") ){
             logger.error("fields violation constraints on Entities");
             return new ResponseEntity<>("field to sort with is invalid ",HttpStatus.BAD_REQUEST);
         }
-        Page<TeamDto> teamsDto = teamService.getTeams(page,size,sortBy);
+        if(page < 0 || size < 1){
+            logger.error("invalid page {} or size {}", page, size);
+            return new ResponseEntity<>(INVALID_PAGE,HttpStatus.BAD_REQUEST);
+        }
+        // answer 304 before reading any team when the client already has the current listing
+        if(isNotModified(webRequest)){
+            return null;
+        }
+        Slice<TeamDto> teamsDto = count ? teamService.getTeams(page,size,sortBy)
+                : teamService.getTeamsWithoutCount(page,size,sortBy);
         logger.info("List of  teams retrieved successfully");
-        return new ResponseEntity<>(teamsDto,HttpStatus.OK);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(teamsDto);
+    }
+
+    /**
+     * Endpoint for retrieving teams with keyset pagination. It is selected when the {@code cursor}
+     * parameter is present: an empty cursor returns the first slice, and each slice returns the
+     * cursor of the next one. No total count is computed.
+     *
+     * @param cursor opaque cursor returned with the previous slice, empty for the first slice.
+     * @param size  size of element in each slice, from 1 to 1000.
+     * @param sortBy  field to sort with
+     * @param webRequest the request, checked for a conditional {@code If-None-Match} or {@code If-Modified-Since}.
+     * @return ResponseEntity containing the slice of team DTO if successful,
+     *         or {@code null} once a 304 status is set when the client already has the current slice.
+     */
+    @Timed("nicefc.controller")
+    @GetMapping(params = "cursor")
+    public ResponseEntity<?> getTeamsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            WebRequest webRequest){
+        if(!sortBy.equals("name") && !sortBy.equals("acronym") && !sortBy.equals("budget") ){
+            logger.error("fields violation constraints on Entities");
+            return new ResponseEntity<>("field to sort with is invalid ",HttpStatus.BAD_REQUEST);
+        }
+        if(size < 1 || size > MAX_SLICE_SIZE){
+            logger.error("invalid slice size {}", size);
+            return new ResponseEntity<>(INVALID_SLICE_SIZE,HttpStatus.BAD_REQUEST);
+        }
+        if(isNotModified(webRequest)){
+            return null;
+        }
+        TeamSliceDto teamsSlice = teamService.getTeams(cursor,size,sortBy);
+        logger.info("slice of teams retrieved successfully");
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).body(teamsSlice);
+    }
+
+    /**
+     * Endpoint for retrieving a page of teams as a JSON array written while the teams are read from the database,
+     * selected by the {@code stream=true} parameter. The page is never built in memory, so large pages do not
+     * weigh on the heap, and no total count is computed.
+     *
+     * @param page page number to retrieve.
+     * @param size  size of element in each page.
+     * @param sortBy  field to sort with
+     * @param webRequest the request, checked for a conditional {@code If-None-Match} or {@code If-Modified-Since}.
+     * @return ResponseEntity streaming the array of team DTO if successful,
+     *         or {@code null} once a 304 status is set when the client already has the current page.
+     */
+    @Timed("nicefc.controller")
+    @GetMapping(params = {"stream=true", "!cursor"})
+    public ResponseEntity<StreamingResponseBody> streamTeams(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sortBy,
+            WebRequest webRequest){
+        if(!sortBy.equals("name") && !sortBy.equals("acronym") && !sortBy.equals("budget") ){
+            logger.error("fields violation constraints on Entities");
+            return badRequest("field to sort with is invalid ");
+        }
+        if(page < 0 || size < 1){
+            logger.error("invalid page {} or size {}", page, size);
+            return badRequest(INVALID_PAGE);
+        }
+        if(isNotModified(webRequest)){
+            return null;
+        }
+        StreamingResponseBody teams = outputStream -> teamExportService.writeTeams(page, size, sortBy, outputStream);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).contentType(MediaType.APPLICATION_JSON).body(teams);
+    }
+
+    /**
+     * Endpoint for downloading all teams with their players as a JSON array. The teams are written as they are
+     * read from the database, so memory use does not depend on the number of teams.
+     *
+     * @param sortBy  field to sort with
+     * @return ResponseEntity streaming the array of all team DTO as an attachment if successful.
+     */
+    @Timed("nicefc.controller")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTeams(@RequestParam(defaultValue = "name") String sortBy){
+        if(!sortBy.equals("name") && !sortBy.equals("acronym") && !sortBy.equals("budget") ){
+            logger.error("fields violation constraints on Entities");
+            return badRequest("field to sort with is invalid ");
+        }
+        StreamingResponseBody teams = outputStream -> {
+            int exported = teamExportService.exportTeams(sortBy, outputStream);
+            logger.info("{} teams exported successfully", exported);
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("teams.json").build().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(teams);
+    }
+
+    /**
+     * Answers 400 to an invalid request for a streamed listing. The message is streamed too, since only a
+     * {@code ResponseEntity} declared with a {@link StreamingResponseBody} body is written asynchronously.
+     */
+    private static ResponseEntity<StreamingResponseBody> badRequest(String error){
+        StreamingResponseBody message = outputStream -> outputStream.write(error.getBytes(StandardCharsets.UTF_8));
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(message);
+    }
+
+    /**
+     * Checks the {@code If-None-Match} and {@code If-Modified-Since} headers of the request against the
+     * version of the team listings, and adds the {@code ETag} and {@code Last-Modified} headers to the response.
+     * When the client already has the current listing, the response status is set to 304.
+     */
+    private boolean isNotModified(WebRequest webRequest){
+        TeamListingVersionDto version = teamService.getListingVersion();
+        return webRequest.checkNotModified(version.getEtag(), version.getLastModified());
     }
 }
@@ -0,0 +1,36 @@
+package com.matawan.nicefc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code TeamImportResultDto} class represents the outcome of one team of a bulk import.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamImportResultDto {
+
+    /**
+     * The position of the team in the upload, starting at 0.
+     */
+    private long index;
+
+    /**
+     * The name of the team, if it could be read.
+     */
+    private String name;
+
+    /**
+     * The outcome of the import of the team.
+     */
+    private TeamImportStatus status;
+
+    /**
+     * The fields violating constraints, or the reason of the failure. Empty when the team was created.
+     */
+    private List<String> errors;
+}
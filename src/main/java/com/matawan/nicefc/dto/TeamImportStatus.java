@@ -0,0 +1,27 @@
+package com.matawan.nicefc.dto;
+
+/**
+ * The {@code TeamImportStatus} enum lists the outcomes of a team of a bulk import.
+ */
+public enum TeamImportStatus {
+
+    /**
+     * The team has been stored.
+     */
+    CREATED,
+
+    /**
+     * The team has constraints violations or could not be read as a team.
+     */
+    INVALID,
+
+    /**
+     * A team with the same name already exists, or appears earlier in the same upload.
+     */
+    DUPLICATE,
+
+    /**
+     * The chunk containing the team could not be stored.
+     */
+    FAILED
+}
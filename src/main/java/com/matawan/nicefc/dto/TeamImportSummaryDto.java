@@ -0,0 +1,29 @@
+package com.matawan.nicefc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The {@code TeamImportSummaryDto} class represents the totals of a bulk import.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamImportSummaryDto {
+
+    /**
+     * The number of teams read from the upload.
+     */
+    private long received;
+
+    /**
+     * The number of teams stored.
+     */
+    private long created;
+
+    /**
+     * The number of teams not stored, whatever the reason.
+     */
+    private long rejected;
+}
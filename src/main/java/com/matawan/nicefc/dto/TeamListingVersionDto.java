@@ -0,0 +1,24 @@
+package com.matawan.nicefc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The {@code TeamListingVersionDto} class represents the version of the team listings, used to answer
+ * conditional requests: two listings read under the same version hold the same teams.
+ */
+@Value
+@AllArgsConstructor
+public class TeamListingVersionDto {
+
+    /**
+     * The weak entity tag of the listings, changed by every team creation.
+     */
+    String etag;
+
+    /**
+     * The time of the last team creation, rounded up to a whole second, or of the application start, in milliseconds
+     * since the epoch.
+     */
+    long lastModified;
+}
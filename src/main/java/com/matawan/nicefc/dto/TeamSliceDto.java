@@ -0,0 +1,37 @@
+package com.matawan.nicefc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The {@code TeamSliceDto} class represents a slice of teams returned by the keyset pagination mode.
+ * It carries no total count; the next slice is requested with {@code nextCursor}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamSliceDto {
+
+    /**
+     * The teams of the slice.
+     */
+    private List<TeamDto> content;
+
+    /**
+     * The requested number of teams per slice.
+     */
+    private int size;
+
+    /**
+     * Whether another slice follows this one.
+     */
+    private boolean hasNext;
+
+    /**
+     * The opaque cursor to pass to retrieve the next slice, or {@code null} on the last slice.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.matawan.nicefc.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The {@code PlayerRow} class is a read-only projection of the player table.
+ * It carries the identifier of the owning team so that rows can be grouped by team
+ * without loading the {@link com.matawan.nicefc.entity.Team} association.
+ */
+@Value
+@AllArgsConstructor
+public class PlayerRow {
+
+    /**
+     * The unique identifier of the team the player belongs to.
+     */
+    Long teamId;
+
+    /**
+     * The name of the player.
+     */
+    String name;
+
+    /**
+     * The position of the player.
+     */
+    String position;
+}
@@ -0,0 +1,46 @@
+package com.matawan.nicefc.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * The {@code TeamPlayerRow} class is a read-only projection of a team joined with one of its players.
+ * A team comes as one row per player, or as a single row without player when it has none, and the rows
+ * of a team follow each other, so that teams can be written out one at a time as the rows are read.
+ */
+@Value
+@AllArgsConstructor
+public class TeamPlayerRow {
+
+    /**
+     * The unique identifier of the team, telling where the rows of the next team start.
+     */
+    Long teamId;
+
+    /**
+     * The name of the team.
+     */
+    String name;
+
+    /**
+     * The acronym of the team.
+     */
+    String acronym;
+
+    /**
+     * The budget of the team.
+     */
+    BigDecimal budget;
+
+    /**
+     * The name of the player, {@code null} when the team has no player.
+     */
+    String playerName;
+
+    /**
+     * The position of the player, {@code null} when the team has no player.
+     */
+    String playerPosition;
+}
@@ -0,0 +1,36 @@
+package com.matawan.nicefc.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * The {@code TeamRow} class is a read-only projection of the team table.
+ * It is filled directly by a JPQL constructor expression so that listings do not
+ * build managed {@link com.matawan.nicefc.entity.Team} entities.
+ */
+@Value
+@AllArgsConstructor
+public class TeamRow {
+
+    /**
+     * The unique identifier of the team, used to attach the players rows.
+     */
+    Long id;
+
+    /**
+     * The name of the team.
+     */
+    String name;
+
+    /**
+     * The acronym of the team.
+     */
+    String acronym;
+
+    /**
+     * The budget of the team.
+     */
+    BigDecimal budget;
+}
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.codehaus.jackson.annotate.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -18,20 +20,42 @@ import java.util.List;
  * The class includes validation annotations from Jakarta Bean Validation API to enforce
  * constraints on the fields. The {@code @NotNull},{@code @NotEmpty} and {@code @Size} annotations
  * ensure that the 'budget', 'name' and 'acronym' fields meet specific criteria.
+
+ * The (sort field, id) indexes back the keyset pagination of the team listing, and the unique
+ * constraint on 'name' rejects duplicated teams without a prior existence check.
+
+ * Teams and their player collections are kept in the second-level cache, in regions sized
+ * in {@code hibernate-cache.conf}.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+@Table(uniqueConstraints = @UniqueConstraint(name = Team.NAME_UNIQUE_CONSTRAINT, columnNames = "name"),
+        indexes = {
+                @Index(name = "idx_team_name_id", columnList = "name, id"),
+                @Index(name = "idx_team_acronym_id", columnList = "acronym, id"),
+                @Index(name = "idx_team_budget_id", columnList = "budget, id")
+        })
 @Data
 @NoArgsConstructor
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class Team {
 
+    /**
+     * The name of the unique constraint on the team name.
+     */
+    public static final String NAME_UNIQUE_CONSTRAINT = "uk_team_name";
+
     /**
      * The unique identifier for the Team. It is annotated with {@code @Id} to
      * mark it as the primary key and {@code @GeneratedValue} to specify its
-     * generation strategy.
+     * generation strategy. Identifiers come from a sequence reserved by blocks of 50
+     * (pooled optimizer), which keeps Hibernate JDBC batching enabled for inserts. The V1 migration moves the
+     * sequence past the identifiers stored before, by an identity column, on the databases it adopts.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq")
+    @SequenceGenerator(name = "team_seq", sequenceName = "team_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -52,6 +76,7 @@ public class Team {
      * The player List of the Team. It can be empty
      */
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "team")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team-players")
     private List<Player> players;
 
     /**
@@ -0,0 +1,30 @@
+package com.matawan.nicefc.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The {@code TeamCreatedEvent} class is published by the team service each time a team is stored.
+ * Listeners interested in committed data only should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}, which runs after the
+ * commit but before the service call returns to the controller.
+ */
+@Value
+@AllArgsConstructor
+public class TeamCreatedEvent {
+
+    /**
+     * The unique identifier of the created team.
+     */
+    Long id;
+
+    /**
+     * The name of the created team.
+     */
+    String name;
+
+    /**
+     * The acronym of the created team.
+     */
+    String acronym;
+}
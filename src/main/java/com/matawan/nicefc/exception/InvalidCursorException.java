@@ -0,0 +1,17 @@
+package com.matawan.nicefc.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded or does not match the requested sort field.
+ * Extends RuntimeException to indicate a runtime exception scenario.
+ */
+public class InvalidCursorException extends RuntimeException{
+
+    /**
+     * Constructs a new InvalidCursorException with the specified error message.
+     *
+     * @param message The error message indicating why the cursor is invalid.
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.matawan.nicefc.exception;
+
+/**
+ * Exception thrown when a request runs more SQL statements than the budget of its endpoint, in the {@code fail}
+ * mode of {@code nicefc.sql.budget.mode}.
+ * Extends RuntimeException to indicate a runtime exception scenario.
+ */
+public class SqlStatementBudgetExceededException extends RuntimeException{
+
+    /**
+     * Constructs a new SqlStatementBudgetExceededException with the specified error message.
+     *
+     * @param message The error message naming the endpoint, its budget and the statements run.
+     */
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.matawan.nicefc.exception.handler;
 
+import com.matawan.nicefc.exception.InvalidCursorException;
 import com.matawan.nicefc.exception.ValidationException;
 import com.matawan.nicefc.exception.teamAlreadyExistsException;
 import org.springframework.http.HttpStatus;
@@ -40,4 +41,16 @@ public class customExceptionHandler extends ResponseEntityExceptionHandler {
         String error = ex.getMessage();
         return ResponseEntity.status(HttpStatus.FOUND).body(error);
     }
+
+    /**
+     * Handles InvalidCursorException thrown when a keyset pagination cursor cannot be used.
+     *
+     * @param ex The InvalidCursorException containing an error message.
+     * @return ResponseEntity with the error message and HTTP status code 400 (Bad Request).
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex){
+        String error = ex.getMessage();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
 }
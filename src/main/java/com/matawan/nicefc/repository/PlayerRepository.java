@@ -1,13 +1,34 @@
 package com.matawan.nicefc.repository;
 
+import com.matawan.nicefc.dto.projection.PlayerRow;
 import com.matawan.nicefc.entity.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for managing Player entities in the data store.
  * Extends JpaRepository to inherit basic CRUD operations.
  */
 @Repository
 public interface PlayerRepository extends JpaRepository<Player,Long> {
+
+    /**
+     * Retrieves the players of the specified teams as read-only rows, without hydrating entities.
+     * The result is kept in the Hibernate query cache until the player table is written to.
+     *
+     * @param teamIds The identifiers of the teams whose players are loaded.
+     * @return The list of player rows, ordered by player identifier.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.matawan.nicefc.dto.projection.PlayerRow(p.team.id, p.name, p.position) " +
+            "from Player p where p.team.id in :teamIds order by p.id")
+    public List<PlayerRow> findPlayerRowsByTeamIdIn(@Param("teamIds") Collection<Long> teamIds);
 }
@@ -0,0 +1,177 @@
+package com.matawan.nicefc.repository;
+
+import com.matawan.nicefc.dto.projection.PlayerRow;
+import com.matawan.nicefc.dto.projection.TeamRow;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.stream.LongStream;
+
+/**
+ * Reactive repository of the teams and their players, reading and writing the same tables as
+ * {@link TeamRepository} and {@link PlayerRepository} over R2DBC. Selected by the {@code reactive} profile.
+ *
+ * <p>Rows are emitted as they are read from the database. Identifiers are taken from the sequences used by
+ * Hibernate, which reserves them by blocks of 50: a sequence value {@code v} stands for the identifiers
+ * {@code v - 49} to {@code v}, so both stacks can insert into the same tables without conflict.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTeamRepository {
+
+    private static final int SEQUENCE_BLOCK = 50;
+    private static final String TEAM_ROW = "select t.id, t.name, t.acronym, t.budget from team t ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructs a new ReactiveTeamRepository.
+     *
+     * @param databaseClient The client running the SQL statements.
+     */
+    @Autowired
+    public ReactiveTeamRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts a team and reserves its identifier.
+     *
+     * @param name    The name of the team.
+     * @param acronym The acronym of the team.
+     * @param budget  The budget of the team.
+     * @return A {@link Mono} of the identifier of the inserted team.
+     */
+    public Mono<Long> insertTeam(String name, String acronym, BigDecimal budget) {
+        return databaseClient.sql("insert into team (id, name, acronym, budget) " +
+                        "values (nextval('team_seq'), :name, :acronym, :budget) returning id")
+                .bind("name", name)
+                .bind("acronym", acronym)
+                .bind("budget", budget)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Reserves identifiers for the given number of players, with a single query.
+     *
+     * @param count The number of identifiers needed.
+     * @return A {@link Flux} of at least {@code count} unused player identifiers.
+     */
+    public Flux<Long> reservePlayerIds(int count) {
+        // one extra block, as the very first value of the sequence stands for a single identifier
+        int blocks = (count + SEQUENCE_BLOCK - 1) / SEQUENCE_BLOCK + 1;
+        return databaseClient.sql("select nextval('player_seq') as hi from generate_series(1, :blocks)")
+                .bind("blocks", blocks)
+                .map(row -> row.get("hi", Long.class))
+                .all()
+                .flatMapIterable(hi -> LongStream
+                        .rangeClosed(Math.max(1, hi - SEQUENCE_BLOCK + 1), hi).boxed().toList());
+    }
+
+    /**
+     * Inserts the players of a team with a single statement, whatever their number.
+     *
+     * @param teamId    The identifier of the team.
+     * @param ids       The reserved identifiers of the players.
+     * @param names     The names of the players, in the same order.
+     * @param positions The positions of the players, in the same order.
+     * @return A {@link Mono} completing once the players are inserted.
+     */
+    public Mono<Void> insertPlayers(Long teamId, Long[] ids, String[] names, String[] positions) {
+        return databaseClient.sql("insert into player (id, team_id, name, position) " +
+                        "select p.id, :teamId, p.name, p.position " +
+                        "from unnest(cast(:ids as bigint[]), cast(:names as text[]), cast(:positions as text[])) " +
+                        "as p(id, name, position)")
+                .bind("teamId", teamId)
+                .bind("ids", ids)
+                .bind("names", names)
+                .bind("positions", positions)
+                .then();
+    }
+
+    /**
+     * Counts all teams.
+     *
+     * @return A {@link Mono} of the number of teams.
+     */
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) as total from team")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Retrieves teams as read-only rows, sorted by the given column then by id.
+     *
+     * @param sortBy The column to sort with: {@code name}, {@code acronym} or {@code budget}.
+     * @param offset The number of rows to skip.
+     * @param limit  The number of rows to retrieve.
+     * @return A {@link Flux} of team rows.
+     */
+    public Flux<TeamRow> findTeamRows(String sortBy, long offset, int limit) {
+        return databaseClient.sql(TEAM_ROW + "order by t." + column(sortBy) + ", t.id limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveTeamRepository::teamRow)
+                .all();
+    }
+
+    /**
+     * Retrieves the teams following the given (value, id) position as read-only rows, sorted by the given column then id.
+     *
+     * @param sortBy The column to sort with: {@code name}, {@code acronym} or {@code budget}.
+     * @param value  The value of that column in the last team already returned.
+     * @param id     The identifier of the last team already returned.
+     * @param limit  The number of rows to retrieve.
+     * @return A {@link Flux} of team rows.
+     */
+    public Flux<TeamRow> findTeamRowsAfter(String sortBy, Object value, Long id, int limit) {
+        String column = column(sortBy);
+        return databaseClient.sql(TEAM_ROW + "where (t." + column + ", t.id) > (:value, :id) " +
+                        "order by t." + column + ", t.id limit :limit")
+                .bind("value", value)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveTeamRepository::teamRow)
+                .all();
+    }
+
+    /**
+     * Retrieves the players of the specified teams as read-only rows, with a single {@code team_id = ANY(?)} query.
+     *
+     * @param teamIds The identifiers of the teams.
+     * @return A {@link Flux} of player rows, in insertion order.
+     */
+    public Flux<PlayerRow> findPlayerRowsByTeamIdIn(Collection<Long> teamIds) {
+        return databaseClient.sql("select p.team_id, p.name, p.position from player p " +
+                        "where p.team_id = any(:teamIds) order by p.id")
+                .bind("teamIds", teamIds.toArray(Long[]::new))
+                .map(row -> new PlayerRow(row.get("team_id", Long.class), row.get("name", String.class),
+                        row.get("position", String.class)))
+                .all();
+    }
+
+    private static TeamRow teamRow(Readable row) {
+        return new TeamRow(row.get("id", Long.class), row.get("name", String.class),
+                row.get("acronym", String.class), row.get("budget", BigDecimal.class));
+    }
+
+    /**
+     * Maps the sort field of the API to its column, so that no other text reaches the SQL statement.
+     */
+    private static String column(String sortBy) {
+        return switch (sortBy) {
+            case "acronym" -> "acronym";
+            case "budget" -> "budget";
+            default -> "name";
+        };
+    }
+}
@@ -1,12 +1,27 @@
 package com.matawan.nicefc.repository;
 
+import com.matawan.nicefc.dto.projection.TeamPlayerRow;
+import com.matawan.nicefc.dto.projection.TeamRow;
 import com.matawan.nicefc.entity.Team;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * Repository interface for managing Team entities in the data store.
  * Extends JpaRepository to inherit basic CRUD operations.
+ * The existence check and the listing queries are cacheable: their results are kept in the Hibernate
+ * query cache until the team table is written to.
  */
 @Repository
 public interface TeamRepository extends JpaRepository<Team,Long> {
@@ -17,6 +32,124 @@ public interface TeamRepository extends JpaRepository<Team,Long> {
      * @param teamName The name of the team to check for existence.
      * @return {@code true} if a team with the specified name exists; otherwise, {@code false}.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     public boolean existsByName(String teamName);
 
+    /**
+     * Retrieves, among the specified names, those already used by a team, with a single
+     * {@code name = ANY(?)} query whatever the number of names.
+     *
+     * @param teamNames The names of the teams to check for existence.
+     * @return The names that are already registered.
+     */
+    @Query(value = "select t.name from team t where t.name = any(cast(:names as text[]))", nativeQuery = true)
+    public List<String> findExistingNames(@Param("names") String[] teamNames);
+
+    /**
+     * Streams the names of all teams, reading them from the database in batches of rows
+     * rather than loading them all at once. Must be consumed and closed within a transaction.
+     *
+     * @return A {@link Stream} of all team names.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.name from Team t")
+    public Stream<String> streamAllNames();
+
+    /**
+     * Retrieves a slice of teams as read-only rows, sorted and sliced according to the given pageable.
+     * The rows are built by a constructor expression, so no entity is put in the persistence context,
+     * and no count query is run: one extra row is read to know whether another slice follows.
+     *
+     * @param pageable The page number, size and sort order to apply.
+     * @return A {@link Slice} of team rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamRow(t.id, t.name, t.acronym, t.budget) from Team t")
+    public Slice<TeamRow> findTeamRowSlice(Pageable pageable);
+
+    /**
+     * Retrieves the teams following the given (name, id) position as read-only rows, sorted by name then id.
+     *
+     * @param name     The name of the last team already returned.
+     * @param id       The identifier of the last team already returned.
+     * @param pageable The number of rows to retrieve, page number is expected to be 0.
+     * @return The list of team rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamRow(t.id, t.name, t.acronym, t.budget) from Team t " +
+            "where (t.name, t.id) > (:name, :id) order by t.name, t.id")
+    public List<TeamRow> findTeamRowsAfterName(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Retrieves the teams following the given (acronym, id) position as read-only rows, sorted by acronym then id.
+     *
+     * @param acronym  The acronym of the last team already returned.
+     * @param id       The identifier of the last team already returned.
+     * @param pageable The number of rows to retrieve, page number is expected to be 0.
+     * @return The list of team rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamRow(t.id, t.name, t.acronym, t.budget) from Team t " +
+            "where (t.acronym, t.id) > (:acronym, :id) order by t.acronym, t.id")
+    public List<TeamRow> findTeamRowsAfterAcronym(@Param("acronym") String acronym, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Retrieves the teams following the given (budget, id) position as read-only rows, sorted by budget then id.
+     *
+     * @param budget   The budget of the last team already returned.
+     * @param id       The identifier of the last team already returned.
+     * @param pageable The number of rows to retrieve, page number is expected to be 0.
+     * @return The list of team rows.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamRow(t.id, t.name, t.acronym, t.budget) from Team t " +
+            "where (t.budget, t.id) > (:budget, :id) order by t.budget, t.id")
+    public List<TeamRow> findTeamRowsAfterBudget(@Param("budget") BigDecimal budget, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Streams a range of teams sorted by name then id, as one row per player joined to its team, reading
+     * the rows from a forward-only cursor in batches of 500. No entity is put in the persistence context.
+     * Must be consumed and closed within a transaction.
+     *
+     * @param offset The number of teams to skip.
+     * @param limit  The number of teams to read.
+     * @return A {@link Stream} of team and player rows, the rows of a team following each other.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamPlayerRow(t.id, t.name, t.acronym, t.budget, p.name, p.position) " +
+            "from Team t left join t.players p where t.id in " +
+            "(select s.id from Team s order by s.name, s.id limit :limit offset :offset) " +
+            "order by t.name, t.id, p.id")
+    public Stream<TeamPlayerRow> streamTeamPlayerRowsByName(@Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Streams a range of teams sorted by acronym then id, as one row per player joined to its team, reading
+     * the rows from a forward-only cursor in batches of 500. Must be consumed and closed within a transaction.
+     *
+     * @param offset The number of teams to skip.
+     * @param limit  The number of teams to read.
+     * @return A {@link Stream} of team and player rows, the rows of a team following each other.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamPlayerRow(t.id, t.name, t.acronym, t.budget, p.name, p.position) " +
+            "from Team t left join t.players p where t.id in " +
+            "(select s.id from Team s order by s.acronym, s.id limit :limit offset :offset) " +
+            "order by t.acronym, t.id, p.id")
+    public Stream<TeamPlayerRow> streamTeamPlayerRowsByAcronym(@Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Streams a range of teams sorted by budget then id, as one row per player joined to its team, reading
+     * the rows from a forward-only cursor in batches of 500. Must be consumed and closed within a transaction.
+     *
+     * @param offset The number of teams to skip.
+     * @param limit  The number of teams to read.
+     * @return A {@link Stream} of team and player rows, the rows of a team following each other.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.matawan.nicefc.dto.projection.TeamPlayerRow(t.id, t.name, t.acronym, t.budget, p.name, p.position) " +
+            "from Team t left join t.players p where t.id in " +
+            "(select s.id from Team s order by s.budget, s.id limit :limit offset :offset) " +
+            "order by t.budget, t.id, p.id")
+    public Stream<TeamPlayerRow> streamTeamPlayerRowsByBudget(@Param("offset") int offset, @Param("limit") int limit);
+
 }
@@ -0,0 +1,174 @@
+package com.matawan.nicefc.service.Impl;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import com.matawan.nicefc.dto.projection.TeamRow;
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.exception.teamAlreadyExistsException;
+import com.matawan.nicefc.repository.ReactiveTeamRepository;
+import com.matawan.nicefc.service.ReactiveTeamService;
+import com.matawan.nicefc.utils.cursor.TeamCursor;
+import com.matawan.nicefc.utils.mapper.TeamMapper;
+import io.r2dbc.postgresql.api.PostgresqlException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * The {@code ReactiveTeamServiceImpl} class implements the {@link ReactiveTeamService} interface on top of
+ * the {@link ReactiveTeamRepository}. Selected by the {@code reactive} profile.
+ *
+ * <p>Unlike {@link TeamServiceImpl}, it keeps no listing, count or name cache in memory:
+ * every call reads the database, without blocking a thread while waiting for it.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTeamServiceImpl implements ReactiveTeamService {
+
+    /**
+     * Number of streamed teams whose players are loaded with a single query.
+     */
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    private final ReactiveTeamRepository reactiveTeamRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Constructs a new ReactiveTeamServiceImpl.
+     *
+     * @param reactiveTeamRepository The reactive repository of the teams and their players.
+     * @param transactionalOperator  The operator running the creation of a team within a transaction.
+     */
+    @Autowired
+    public ReactiveTeamServiceImpl(ReactiveTeamRepository reactiveTeamRepository,
+                                   TransactionalOperator transactionalOperator) {
+        this.reactiveTeamRepository = reactiveTeamRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> addTeam(TeamDto teamDto) {
+        List<PlayerDto> players = teamDto.getPlayers() == null ? List.of() : teamDto.getPlayers();
+        return reactiveTeamRepository.insertTeam(teamDto.getName(), teamDto.getAcronym(), teamDto.getBudget())
+                .flatMap(teamId -> players.isEmpty() ? Mono.<Void>empty()
+                        : reactiveTeamRepository.reservePlayerIds(players.size())
+                        .take(players.size())
+                        .collectList()
+                        .flatMap(ids -> reactiveTeamRepository.insertPlayers(teamId, ids.toArray(Long[]::new),
+                                players.stream().map(PlayerDto::getName).toArray(String[]::new),
+                                players.stream().map(PlayerDto::getPosition).toArray(String[]::new))))
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, ReactiveTeamServiceImpl::translateNameConflict);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Page<TeamDto>> getTeams(int page, int size, String sortBy) {
+        Pageable pageable = sortedPageable(page, size, sortBy);
+        return Mono.zip(
+                reactiveTeamRepository.findTeamRows(sortBy, pageable.getOffset(), size).collectList().flatMap(this::mapTeamRows),
+                reactiveTeamRepository.count(),
+                (teams, count) -> new PageImpl<>(teams, pageable, count));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Slice<TeamDto>> getTeamsWithoutCount(int page, int size, String sortBy) {
+        Pageable pageable = sortedPageable(page, size, sortBy);
+        // fetch one extra row to know whether another slice follows, without a count query
+        return reactiveTeamRepository.findTeamRows(sortBy, pageable.getOffset(), size + 1)
+                .collectList()
+                .flatMap(teamRows -> {
+                    boolean hasNext = teamRows.size() > size;
+                    return mapTeamRows(hasNext ? teamRows.subList(0, size) : teamRows)
+                            .map(teams -> new SliceImpl<>(teams, pageable, hasNext));
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<TeamSliceDto> getTeams(String cursor, int size, String sortBy) {
+        Flux<TeamRow> teamRows;
+        if (cursor.isEmpty()) {
+            teamRows = reactiveTeamRepository.findTeamRows(sortBy, 0, size + 1);
+        } else {
+            TeamCursor after = TeamCursor.decode(cursor, sortBy);
+            Object value = sortBy.equals("budget") ? after.getValueAsBigDecimal() : after.getValue();
+            teamRows = reactiveTeamRepository.findTeamRowsAfter(sortBy, value, after.getId(), size + 1);
+        }
+        return teamRows.collectList().flatMap(rows -> {
+            boolean hasNext = rows.size() > size;
+            List<TeamRow> sliceRows = hasNext ? rows.subList(0, size) : rows;
+            String nextCursor = hasNext ? TeamCursor.after(sortBy, sliceRows.get(sliceRows.size() - 1)).encode() : null;
+            return mapTeamRows(sliceRows).map(teams -> new TeamSliceDto(teams, size, hasNext, nextCursor));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<TeamDto> streamTeams(int page, int size, String sortBy) {
+        Pageable pageable = sortedPageable(page, size, sortBy);
+        return reactiveTeamRepository.findTeamRows(sortBy, pageable.getOffset(), size)
+                .buffer(STREAM_BATCH_SIZE)
+                .concatMap(this::mapTeamRows)
+                .flatMapIterable(teams -> teams);
+    }
+
+    /**
+     * Loads the players of the given team rows in a single query and maps them all to team DTOs.
+     */
+    private Mono<List<TeamDto>> mapTeamRows(List<TeamRow> teamRows) {
+        if (teamRows.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<Long> teamIds = teamRows.stream().map(TeamRow::getId).toList();
+        return reactiveTeamRepository.findPlayerRowsByTeamIdIn(teamIds)
+                .collectList()
+                .map(playerRows -> TeamMapper.mapTeamRowsToTeamDtos(teamRows, playerRows));
+    }
+
+    /**
+     * Builds the pageable of an offset listing, sorted as by {@link TeamServiceImpl}.
+     */
+    private static Pageable sortedPageable(int page, int size, String sortBy) {
+        return PageRequest.of(page, size, Sort.by(sortBy).and(Sort.by("id")));
+    }
+
+    /**
+     * Maps a violation of the unique constraint on the team name to a {@link teamAlreadyExistsException},
+     * and leaves any other integrity violation unchanged.
+     */
+    private static Throwable translateNameConflict(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof PostgresqlException violation
+                && violation.getErrorDetails().getConstraintName()
+                .filter(Team.NAME_UNIQUE_CONSTRAINT::equalsIgnoreCase).isPresent()) {
+            return new teamAlreadyExistsException("team already registered");
+        }
+        return e;
+    }
+}
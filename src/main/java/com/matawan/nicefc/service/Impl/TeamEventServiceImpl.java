@@ -0,0 +1,272 @@
+package com.matawan.nicefc.service.Impl;
+
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import com.matawan.nicefc.service.TeamEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The {@code TeamEventServiceImpl} class implements the {@link TeamEventService} interface.
+ *
+ * <p>Each team creation is numbered once committed, kept in a ring buffer of recent events and queued for every
+ * subscriber. Subscribers hold no thread while idle: their bounded queue is drained by a small shared pool of
+ * sender threads, so the committing thread never writes to a client. A subscriber whose queue is full is
+ * disconnected rather than slowing down the others, and resumes from the ring buffer when it reconnects.
+ *
+ * <p>Event ids are prefixed with the start time of the application, so an id from before a restart
+ * is recognized as unknown and answered with a {@code reset} event.
+ */
+@Service
+public class TeamEventServiceImpl implements TeamEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamEventServiceImpl.class);
+
+    private final String idPrefix = Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final TeamCreatedEvent[] history;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter overflowCounter;
+    private long lastSequence;
+
+    /**
+     * Constructs a new TeamEventServiceImpl.
+     *
+     * @param meterRegistry     The registry the subscriber metrics are registered in.
+     * @param historySize       The number of recent events kept to resume reconnecting clients.
+     * @param queueCapacity     The number of events queued per subscriber before it is disconnected.
+     * @param timeout           How long a subscription lasts before the client has to reconnect.
+     * @param heartbeatInterval The interval of the comments keeping idle connections open.
+     * @param senderThreads     The number of threads writing the events to the clients.
+     */
+    @Autowired
+    public TeamEventServiceImpl(MeterRegistry meterRegistry,
+                                @Value("${nicefc.teams.events.history-size:1000}") int historySize,
+                                @Value("${nicefc.teams.events.queue-capacity:64}") int queueCapacity,
+                                @Value("${nicefc.teams.events.timeout:30m}") Duration timeout,
+                                @Value("${nicefc.teams.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                @Value("${nicefc.teams.events.sender-threads:2}") int senderThreads) {
+        this.history = new TeamCreatedEvent[historySize];
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "team-events-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "team-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        this.overflowCounter = Counter.builder("nicefc.teams.events.overflows")
+                .description("Subscribers disconnected because they did not keep up with the team events")
+                .register(meterRegistry);
+        Gauge.builder("nicefc.teams.events.subscribers", subscribers, Set::size)
+                .description("Clients subscribed to the team events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            // replay and registration under the lock, so that no event is missed or sent twice
+            if (lastEventId != null) {
+                long missedFrom = resumeSequence(lastEventId);
+                if (missedFrom < 0 || lastSequence - missedFrom >= queueCapacity) {
+                    subscriber.offer(new FeedItem("reset", idPrefix + lastSequence, ""));
+                } else {
+                    for (long sequence = missedFrom; sequence <= lastSequence; sequence++) {
+                        subscriber.offer(teamCreated(sequence, history[(int) (sequence % history.length)]));
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Numbers a committed team creation, keeps it in the history and queues it for every subscriber.
+     *
+     * @param event The event describing the created team.
+     */
+    @TransactionalEventListener
+    public synchronized void onTeamCreated(TeamCreatedEvent event) {
+        lastSequence++;
+        history[(int) (lastSequence % history.length)] = event;
+        FeedItem teamCreated = teamCreated(lastSequence, event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(teamCreated)) {
+                schedule(subscriber);
+            } else {
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Stops the sender and heartbeat threads and closes the open subscriptions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Retrieves the sequence of the first event a reconnecting client missed,
+     * or -1 when these events are no longer known.
+     */
+    private long resumeSequence(String lastEventId) {
+        if (!lastEventId.startsWith(idPrefix)) {
+            return -1;
+        }
+        long lastReceived;
+        try {
+            lastReceived = Long.parseLong(lastEventId.substring(idPrefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (lastReceived > lastSequence || lastReceived < lastSequence - history.length) {
+            return -1;
+        }
+        return lastReceived + 1;
+    }
+
+    private FeedItem teamCreated(long sequence, TeamCreatedEvent event) {
+        return new FeedItem("team-created", idPrefix + sequence, event);
+    }
+
+    /**
+     * Queues a comment for every subscriber, so that idle connections are kept open
+     * and closed connections are detected.
+     */
+    private void sendHeartbeats() {
+        FeedItem heartbeat = new FeedItem(null, null, null);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(heartbeat)) {
+                schedule(subscriber);
+            } else {
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Hands the subscriber to a sender thread, unless one is already draining its queue.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes the queued events of a subscriber to its connection.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            FeedItem item;
+            while ((item = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(item.name() == null ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event().name(item.name()).id(item.id()).data(item.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, the emitter callbacks remove the subscriber
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // an event queued after the last poll but before the flag was cleared would otherwise wait for the next one
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Disconnects a subscriber that did not keep up, it resumes from the history when it reconnects.
+     */
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            overflowCounter.increment();
+            logger.warn("team events subscriber disconnected after {} pending events", queueCapacity);
+            subscriber.queue.clear();
+            try {
+                // completing waits for a send in progress, which must not hold up the committing thread
+                senders.execute(subscriber.emitter::complete);
+            } catch (RejectedExecutionException e) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * A client subscribed to the team events, with the events not yet written to its connection.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedItem> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int queueCapacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private boolean offer(FeedItem item) {
+            return queue.offer(item);
+        }
+    }
+
+    /**
+     * An event waiting to be written to a subscriber, or a heartbeat comment when it has no name.
+     * The event itself is built by the sender, since an event builder cannot be written twice.
+     */
+    private record FeedItem(String name, String id, Object data) {
+    }
+}
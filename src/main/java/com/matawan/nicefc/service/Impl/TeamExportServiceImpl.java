@@ -0,0 +1,142 @@
+package com.matawan.nicefc.service.Impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.nicefc.cache.TeamPageCache;
+import com.matawan.nicefc.dto.projection.TeamPlayerRow;
+import com.matawan.nicefc.repository.TeamRepository;
+import com.matawan.nicefc.service.TeamExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The {@code TeamExportServiceImpl} class implements the {@link TeamExportService} interface.
+ * It reads the teams joined with their players as {@link TeamPlayerRow} rows from a forward-only cursor,
+ * inside a read-only transaction, and writes each team with a Jackson {@link JsonGenerator} as soon as its
+ * rows are read: only the current row is kept, whatever the number of teams. The rows are read through
+ * {@link TeamPageCache#loadCurrent(Supplier)}, so that they hold every team of the listing version the response
+ * is answered under.
+ */
+@Service
+public class TeamExportServiceImpl implements TeamExportService {
+
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TeamPageCache teamPageCache;
+
+    /**
+     * Constructs a new TeamExportServiceImpl.
+     *
+     * @param teamRepository     The repository streaming the team and player rows.
+     * @param objectMapper       The mapper whose factory creates the JSON generators.
+     * @param transactionManager The manager of the read-only transactions the cursors are read in.
+     * @param teamPageCache      The version of the listings, the rows must hold the teams of.
+     */
+    @Autowired
+    public TeamExportServiceImpl(TeamRepository teamRepository, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager, TeamPageCache teamPageCache) {
+        this.teamPageCache = teamPageCache;
+        this.teamRepository = teamRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int writeTeams(int page, int size, String sortBy, OutputStream output) throws IOException {
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        return write(sortBy, offset, size, output);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int exportTeams(String sortBy, OutputStream output) throws IOException {
+        return write(sortBy, 0, Integer.MAX_VALUE, output);
+    }
+
+    /**
+     * Writes the teams of the given range, the cursor and the transaction are closed even when writing fails.
+     */
+    private int write(String sortBy, int offset, int limit, OutputStream output) throws IOException {
+        try {
+            Integer written = teamPageCache.loadCurrent(() -> readOnlyTransaction.execute(status -> {
+                try (Stream<TeamPlayerRow> rows = streamRows(sortBy, offset, limit);
+                     JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                    // the output stream belongs to the caller
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    return writeTeams(rows.iterator(), generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            return written == null ? 0 : written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Stream<TeamPlayerRow> streamRows(String sortBy, int offset, int limit) {
+        return switch (sortBy) {
+            case "acronym" -> teamRepository.streamTeamPlayerRowsByAcronym(offset, limit);
+            case "budget" -> teamRepository.streamTeamPlayerRowsByBudget(offset, limit);
+            default -> teamRepository.streamTeamPlayerRowsByName(offset, limit);
+        };
+    }
+
+    /**
+     * Writes the rows as a JSON array of teams, with the fields of {@code TeamDto} in the same order.
+     * A team is closed when the first row of the next team is read.
+     */
+    private int writeTeams(Iterator<TeamPlayerRow> rows, JsonGenerator generator) throws IOException {
+        int teams = 0;
+        TeamPlayerRow team = null;
+        generator.writeStartArray();
+        while (rows.hasNext()) {
+            TeamPlayerRow row = rows.next();
+            if (team == null || !Objects.equals(team.getTeamId(), row.getTeamId())) {
+                if (team != null) {
+                    endTeam(team, generator);
+                }
+                team = row;
+                teams++;
+                generator.writeStartObject();
+                generator.writeStringField("name", row.getName());
+                generator.writeStringField("acronym", row.getAcronym());
+                generator.writeArrayFieldStart("players");
+            }
+            if (row.getPlayerName() != null) {
+                generator.writeStartObject();
+                generator.writeStringField("name", row.getPlayerName());
+                generator.writeStringField("position", row.getPlayerPosition());
+                generator.writeEndObject();
+            }
+        }
+        if (team != null) {
+            endTeam(team, generator);
+        }
+        generator.writeEndArray();
+        return teams;
+    }
+
+    private void endTeam(TeamPlayerRow team, JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeNumberField("budget", team.getBudget());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,259 @@
+package com.matawan.nicefc.service.Impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamImportResultDto;
+import com.matawan.nicefc.dto.TeamImportStatus;
+import com.matawan.nicefc.dto.TeamImportSummaryDto;
+import com.matawan.nicefc.exception.teamAlreadyExistsException;
+import com.matawan.nicefc.service.TeamImportService;
+import com.matawan.nicefc.service.TeamService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The {@code TeamImportServiceImpl} class implements the {@link TeamImportService} interface.
+ * It reads the upload token by token with a Jackson {@link JsonParser}, keeps at most one chunk of
+ * teams in memory and stores each chunk through {@link TeamService#addTeams(List)}. The results of a chunk,
+ * invalid items included, are written once the chunk is stored, so that the report follows the input order.
+ */
+@Service
+public class TeamImportServiceImpl implements TeamImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamImportServiceImpl.class);
+
+    private final TeamService teamService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new TeamImportServiceImpl.
+     *
+     * @param teamService  The service storing the chunks of teams.
+     * @param objectMapper The mapper used to read the teams and write the report.
+     * @param validator    The validator checking the constraints of each team and its players.
+     * @param chunkSize    The number of items read per chunk, hence the most teams stored per transaction.
+     * @throws IllegalArgumentException If the chunk size is less than 1.
+     */
+    @Autowired
+    public TeamImportServiceImpl(TeamService teamService, ObjectMapper objectMapper, Validator validator,
+                                 @Value("${nicefc.import.chunk-size:500}") int chunkSize) {
+        if(chunkSize < 1){
+            throw new IllegalArgumentException("nicefc.import.chunk-size must be at least 1, got " + chunkSize);
+        }
+        this.teamService = teamService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeamImportSummaryDto importTeams(InputStream body, OutputStream report) throws IOException {
+        TeamImportSummaryDto summary = new TeamImportSummaryDto();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(report)) {
+            // the report stream belongs to the caller
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("results");
+
+            String error = null;
+            List<TeamImportResultDto> chunk = new ArrayList<>(chunkSize);
+            List<TeamDto> chunkTeams = new ArrayList<>(chunkSize);
+            try {
+                // a JSON array holds the teams, otherwise the teams are root-level values (NDJSON)
+                JsonToken token = parser.nextToken();
+                boolean array = token == JsonToken.START_ARRAY;
+                if(array){
+                    token = parser.nextToken();
+                }
+                while(token != null && token != JsonToken.END_ARRAY){
+                    JsonNode node = parser.readValueAsTree();
+                    TeamImportResultDto result = new TeamImportResultDto(summary.getReceived(), null, null, List.of());
+                    summary.setReceived(summary.getReceived() + 1);
+
+                    // an invalid item keeps its place in the chunk, without a team, to be reported in order
+                    chunk.add(result);
+                    chunkTeams.add(readTeam(node, result));
+                    if(chunk.size() == chunkSize){
+                        storeChunk(chunk, chunkTeams, generator, summary);
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                error = "malformed JSON at line " + e.getLocation().getLineNr()
+                        + ", column " + e.getLocation().getColumnNr();
+                logger.warn("bulk import stopped: {}", error);
+            }
+            storeChunk(chunk, chunkTeams, generator, summary);
+
+            generator.writeEndArray();
+            generator.writeObjectField("summary", summary);
+            if(error != null){
+                generator.writeStringField("error", error);
+            }
+            generator.writeEndObject();
+        }
+        logger.info("bulk import done: {} received, {} created, {} rejected",
+                summary.getReceived(), summary.getCreated(), summary.getRejected());
+        return summary;
+    }
+
+    /**
+     * Binds a JSON node to a team and validates it with its players.
+     * Returns {@code null} and fills the result when the team cannot be stored.
+     */
+    private TeamDto readTeam(JsonNode node, TeamImportResultDto result) {
+        TeamDto teamDto;
+        try {
+            teamDto = objectMapper.treeToValue(node, TeamDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            result.setStatus(TeamImportStatus.INVALID);
+            result.setErrors(List.of("item is not a valid team"));
+            return null;
+        }
+        result.setName(teamDto.getName());
+
+        List<String> errors = new ArrayList<>();
+        for(ConstraintViolation<TeamDto> violation : validator.validate(teamDto)){
+            errors.add(violation.getPropertyPath().toString());
+        }
+        List<PlayerDto> players = teamDto.getPlayers() == null ? List.of() : teamDto.getPlayers();
+        for(int i = 0; i < players.size(); i++){
+            if(players.get(i) == null){
+                errors.add("players[" + i + "]");
+                continue;
+            }
+            for(ConstraintViolation<PlayerDto> violation : validator.validate(players.get(i))){
+                errors.add("players[" + i + "]." + violation.getPropertyPath());
+            }
+        }
+        if(!errors.isEmpty()){
+            result.setStatus(TeamImportStatus.INVALID);
+            result.setErrors(errors);
+            return null;
+        }
+        return teamDto;
+    }
+
+    /**
+     * Stores the valid teams of the chunk that are not already registered, in a single transaction,
+     * then writes the results of the chunk in input order and empties it. The teams of invalid items are
+     * {@code null}. Registered names are found with one query for the whole chunk; if another request
+     * registers one of the names in the meantime, the teams of the chunk are stored one by one instead.
+     */
+    private void storeChunk(List<TeamImportResultDto> chunk, List<TeamDto> chunkTeams,
+                            JsonGenerator generator, TeamImportSummaryDto summary) throws IOException {
+        if(chunk.isEmpty()) return;
+
+        List<String> names = chunkTeams.stream().filter(Objects::nonNull).map(TeamDto::getName).toList();
+        Set<String> existingNames = names.isEmpty() ? Set.of() : teamService.findExistingNames(names);
+        Set<String> chunkNames = new HashSet<>();
+        List<TeamImportResultDto> toCreateResults = new ArrayList<>();
+        List<TeamDto> toCreate = new ArrayList<>();
+        for(int i = 0; i < chunk.size(); i++){
+            TeamDto teamDto = chunkTeams.get(i);
+            if(teamDto == null){
+                continue;
+            }
+            if(existingNames.contains(teamDto.getName()) || !chunkNames.add(teamDto.getName())){
+                markDuplicate(chunk.get(i));
+            } else {
+                toCreateResults.add(chunk.get(i));
+                toCreate.add(teamDto);
+            }
+        }
+
+        if(!toCreate.isEmpty()){
+            try {
+                teamService.addTeams(toCreate);
+                toCreateResults.forEach(result -> result.setStatus(TeamImportStatus.CREATED));
+            } catch (teamAlreadyExistsException e) {
+                logger.warn("bulk import chunk conflicts with a concurrent creation, storing its teams one by one");
+                for(int i = 0; i < toCreate.size(); i++){
+                    storeTeam(toCreate.get(i), toCreateResults.get(i));
+                }
+            } catch (DataAccessException | TransactionException e) {
+                logger.error("bulk import chunk could not be stored", e);
+                toCreateResults.forEach(TeamImportServiceImpl::markFailed);
+            }
+        }
+
+        for(TeamImportResultDto result : chunk){
+            writeResult(generator, result, summary);
+        }
+        generator.flush();
+        chunk.clear();
+        chunkTeams.clear();
+    }
+
+    /**
+     * Stores a single team of a chunk and fills its result.
+     */
+    private void storeTeam(TeamDto teamDto, TeamImportResultDto result) {
+        try {
+            teamService.addTeam(teamDto);
+            result.setStatus(TeamImportStatus.CREATED);
+        } catch (teamAlreadyExistsException e) {
+            markDuplicate(result);
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("bulk import team could not be stored", e);
+            markFailed(result);
+        }
+    }
+
+    /**
+     * Rejects a team whose name is already registered.
+     */
+    private static void markDuplicate(TeamImportResultDto result) {
+        result.setStatus(TeamImportStatus.DUPLICATE);
+        result.setErrors(List.of("team already registered"));
+    }
+
+    /**
+     * Rejects a team that could not be stored because of a database error.
+     */
+    private static void markFailed(TeamImportResultDto result) {
+        result.setStatus(TeamImportStatus.FAILED);
+        result.setErrors(List.of("team could not be stored"));
+    }
+
+    /**
+     * Writes the result of one team to the report and adds it to the summary.
+     */
+    private void writeResult(JsonGenerator generator, TeamImportResultDto result,
+                             TeamImportSummaryDto summary) throws IOException {
+        if(result.getStatus() == TeamImportStatus.CREATED){
+            summary.setCreated(summary.getCreated() + 1);
+        } else {
+            summary.setRejected(summary.getRejected() + 1);
+        }
+        generator.writeObject(result);
+    }
+}
@@ -1,48 +1,120 @@
 package com.matawan.nicefc.service.Impl;
 
+import com.matawan.nicefc.cache.TeamCountCache;
+import com.matawan.nicefc.cache.TeamNameFilter;
+import com.matawan.nicefc.cache.TeamPageCache;
 import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamListingVersionDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import com.matawan.nicefc.dto.projection.PlayerRow;
+import com.matawan.nicefc.dto.projection.TeamRow;
 import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import com.matawan.nicefc.exception.teamAlreadyExistsException;
+import com.matawan.nicefc.repository.PlayerRepository;
 import com.matawan.nicefc.repository.TeamRepository;
 import com.matawan.nicefc.service.TeamService;
+import com.matawan.nicefc.utils.cursor.TeamCursor;
 import com.matawan.nicefc.utils.mapper.TeamMapper;
-import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The {@code TeamServiceImpl} class implements the {@link TeamService} interface and provides
  * functionality for handling operations related to teams.
+ * Each of its operations is timed by the {@code nicefc.service} timer.
  */
 @Service
+@Timed("nicefc.service")
 public class TeamServiceImpl implements TeamService {
 
 
     private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final TeamCountCache teamCountCache;
+    private final TeamNameFilter teamNameFilter;
+    private final TeamPageCache teamPageCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
 
     /**
-     * Constructs a new TeamServiceImpl with the specified TeamRepository.
+     * Constructs a new TeamServiceImpl with the specified repositories.
      *
-     * @param teamRepository The repository for managing Team entities in the data store.
+     * @param teamRepository     The repository for managing Team entities in the data store.
+     * @param playerRepository   The repository for managing Player entities in the data store.
+     * @param teamCountCache     The in-memory total number of teams used by paged listings.
+     * @param teamNameFilter     The in-memory filter of registered names used by existence checks.
+     * @param teamPageCache      The in-memory cache of recently read team listings.
+     * @param eventPublisher     The publisher of {@link TeamCreatedEvent}.
+     * @param transactionManager The manager of the read-only transactions loading the listings missing from the cache.
      */
     @Autowired
-    public TeamServiceImpl(TeamRepository teamRepository) {
+    public TeamServiceImpl(TeamRepository teamRepository, PlayerRepository playerRepository,
+                           TeamCountCache teamCountCache, TeamNameFilter teamNameFilter,
+                           TeamPageCache teamPageCache, ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager) {
         this.teamRepository = teamRepository;
-
+        this.playerRepository = playerRepository;
+        this.teamCountCache = teamCountCache;
+        this.teamNameFilter = teamNameFilter;
+        this.teamPageCache = teamPageCache;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void addTeam(TeamDto teamDto) {
         Team team = TeamMapper.mapTeamDtoToTeam(teamDto);
-        teamRepository.save(team);
+        try {
+            // flush now so that a duplicated name is reported here rather than at commit
+            teamRepository.saveAndFlush(team);
+        } catch (DataIntegrityViolationException e) {
+            throw translateNameConflict(e);
+        }
+        teamNameFilter.put(team.getName());
+        eventPublisher.publishEvent(new TeamCreatedEvent(team.getId(), team.getName(), team.getAcronym()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void addTeams(List<TeamDto> teamsDto) {
+        List<Team> teams;
+        try {
+            teams = teamRepository.saveAllAndFlush(TeamMapper.mapTeamDtosToTeams(teamsDto));
+        } catch (DataIntegrityViolationException e) {
+            throw translateNameConflict(e);
+        }
+        for(Team team : teams){
+            teamNameFilter.put(team.getName());
+            eventPublisher.publishEvent(new TeamCreatedEvent(team.getId(), team.getName(), team.getAcronym()));
+        }
     }
 
     /**
@@ -50,7 +122,29 @@ public class TeamServiceImpl implements TeamService {
      */
     @Override
     public boolean existsByName(String teamDtoName) {
-        return teamRepository.existsByName(teamDtoName);
+        if(!teamNameFilter.mightContain(teamDtoName)){
+            return false;
+        }
+        boolean exists = teamRepository.existsByName(teamDtoName);
+        if(!exists){
+            teamNameFilter.falsePositives(1);
+        }
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> findExistingNames(Collection<String> teamDtoNames) {
+        // only the names the filter cannot rule out are sent to the database
+        String[] candidates = teamDtoNames.stream().filter(teamNameFilter::mightContain).toArray(String[]::new);
+        if(candidates.length == 0){
+            return Set.of();
+        }
+        Set<String> existingNames = new HashSet<>(teamRepository.findExistingNames(candidates));
+        teamNameFilter.falsePositives(candidates.length - existingNames.size());
+        return existingNames;
     }
 
     /**
@@ -58,9 +152,101 @@ public class TeamServiceImpl implements TeamService {
      */
     @Override
     public Page<TeamDto> getTeams(int page, int size, String sortBy){
-        Pageable pageable = PageRequest.of(page,size, Sort.by(sortBy));
-        Page<Team> TeamPage = teamRepository.findAll(pageable);
-        return TeamPage.map(TeamMapper::mapTeamToTeamDto);
+        return teamPageCache.get("page", page, size, sortBy, null, () -> readOnlyTransaction.execute(status -> {
+            Pageable pageable = sortedPageable(page, size, sortBy);
+            Slice<TeamRow> teamRows = teamRepository.findTeamRowSlice(pageable);
+            return new PageImpl<>(mapTeamRows(teamRows.getContent()), pageable, teamCountCache.getCount());
+        }));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Slice<TeamDto> getTeamsWithoutCount(int page, int size, String sortBy){
+        teamCountCache.countSkipped();
+        return teamPageCache.get("slice", page, size, sortBy, null, () -> readOnlyTransaction.execute(status -> {
+            Pageable pageable = sortedPageable(page, size, sortBy);
+            Slice<TeamRow> teamRows = teamRepository.findTeamRowSlice(pageable);
+            return new SliceImpl<>(mapTeamRows(teamRows.getContent()), pageable, teamRows.hasNext());
+        }));
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeamSliceDto getTeams(String cursor, int size, String sortBy){
+        return teamPageCache.get("cursor", 0, size, sortBy, cursor,
+                () -> readOnlyTransaction.execute(status -> loadTeamSlice(cursor, size, sortBy)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TeamListingVersionDto getListingVersion(){
+        return teamPageCache.getVersion();
+    }
+
+    /**
+     * Loads a slice of teams following the given cursor, see {@link #getTeams(String, int, String)}.
+     */
+    private TeamSliceDto loadTeamSlice(String cursor, int size, String sortBy){
+        List<TeamRow> teamRows;
+        boolean hasNext;
+        if(cursor.isEmpty()){
+            Slice<TeamRow> firstSlice = teamRepository.findTeamRowSlice(sortedPageable(0, size, sortBy));
+            teamRows = firstSlice.getContent();
+            hasNext = firstSlice.hasNext();
+        } else {
+            // fetch one extra row to know whether another slice follows, without a count query
+            TeamCursor after = TeamCursor.decode(cursor, sortBy);
+            Pageable limit = PageRequest.of(0, size + 1);
+            teamRows = switch (sortBy) {
+                case "acronym" -> teamRepository.findTeamRowsAfterAcronym(after.getValue(), after.getId(), limit);
+                case "budget" -> teamRepository.findTeamRowsAfterBudget(after.getValueAsBigDecimal(), after.getId(), limit);
+                default -> teamRepository.findTeamRowsAfterName(after.getValue(), after.getId(), limit);
+            };
+            hasNext = teamRows.size() > size;
+            if(hasNext){
+                teamRows = teamRows.subList(0, size);
+            }
+        }
+
+        String nextCursor = hasNext ? TeamCursor.after(sortBy, teamRows.get(teamRows.size() - 1)).encode() : null;
+        return new TeamSliceDto(mapTeamRows(teamRows), size, hasNext, nextCursor);
+    }
+
+    /**
+     * Maps a violation of the unique constraint on the team name to a {@link teamAlreadyExistsException},
+     * and rethrows any other integrity violation unchanged.
+     */
+    private static RuntimeException translateNameConflict(DataIntegrityViolationException e){
+        if(e.getCause() instanceof ConstraintViolationException violation
+                && Team.NAME_UNIQUE_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())){
+            return new teamAlreadyExistsException("team already registered");
+        }
+        return e;
+    }
+
+    /**
+     * Builds the pageable of an offset listing. The id is added as a secondary sort key so that
+     * teams sharing the same value keep a stable order between pages.
+     */
+    private static Pageable sortedPageable(int page, int size, String sortBy){
+        return PageRequest.of(page, size, Sort.by(sortBy).and(Sort.by("id")));
+    }
+
+    /**
+     * Loads the players of the given team rows in a single query and maps them all to team DTOs.
+     */
+    private List<TeamDto> mapTeamRows(List<TeamRow> teamRows){
+        if(teamRows.isEmpty()){
+            return List.of();
+        }
+        List<Long> teamIds = teamRows.stream().map(TeamRow::getId).toList();
+        List<PlayerRow> playerRows = playerRepository.findPlayerRowsByTeamIdIn(teamIds);
+        return TeamMapper.mapTeamRowsToTeamDtos(teamRows, playerRows);
     }
 }
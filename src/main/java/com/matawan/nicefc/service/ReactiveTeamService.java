@@ -0,0 +1,68 @@
+package com.matawan.nicefc.service;
+
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code ReactiveTeamService} interface defines the non-blocking counterpart of {@link TeamService}
+ * used by the {@code reactive} profile: the same operations, returning publishers instead of values.
+ * Nothing is read or written until the returned publisher is subscribed to.
+ */
+public interface ReactiveTeamService {
+
+    /**
+     * Adds a new team and its players in a single transaction.
+     * Duplicated names are rejected by the unique constraint on the team name.
+     *
+     * @param teamDto The data transfer object representing the team to be added.
+     * @return A {@link Mono} completing once the team is stored, or failing with
+     *         {@link com.matawan.nicefc.exception.teamAlreadyExistsException} if a team with the same name already exists.
+     */
+    public Mono<Void> addTeam(TeamDto teamDto);
+
+    /**
+     * Retrieves a paginated list of teams Dto, with the total number of teams.
+     *
+     * @param page   page number to retrieve.
+     * @param size   size of element in each page.
+     * @param sortBy field to sort with.
+     * @return A {@link Mono} of the page of team DTOs.
+     */
+    public Mono<Page<TeamDto>> getTeams(int page, int size, String sortBy);
+
+    /**
+     * Retrieves a slice of teams Dto without counting the teams.
+     *
+     * @param page   page number to retrieve.
+     * @param size   size of element in each slice.
+     * @param sortBy field to sort with.
+     * @return A {@link Mono} of the slice of team DTOs.
+     */
+    public Mono<Slice<TeamDto>> getTeamsWithoutCount(int page, int size, String sortBy);
+
+    /**
+     * Retrieves a slice of teams Dto with keyset pagination, see {@link TeamService#getTeams(String, int, String)}.
+     *
+     * @param cursor opaque cursor returned with the previous slice, empty for the first slice.
+     * @param size   size of element in each slice.
+     * @param sortBy field to sort with.
+     * @return A {@link Mono} of the slice of team DTOs with the cursor of the next slice.
+     * @throws com.matawan.nicefc.exception.InvalidCursorException If the cursor cannot be decoded or was built for another sort.
+     */
+    public Mono<TeamSliceDto> getTeams(String cursor, int size, String sortBy);
+
+    /**
+     * Streams a page of teams Dto as the rows are read from the database, without holding the whole page in memory.
+     * The players are loaded for a few teams at a time.
+     *
+     * @param page   page number to retrieve.
+     * @param size   size of element in the page, which may be large.
+     * @param sortBy field to sort with.
+     * @return A {@link Flux} of team DTOs, in order.
+     */
+    public Flux<TeamDto> streamTeams(int page, int size, String sortBy);
+}
@@ -0,0 +1,25 @@
+package com.matawan.nicefc.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * The {@code TeamEventService} interface defines the contract for pushing team creations to clients
+ * as Server-Sent Events, instead of having them poll the team listing.
+ */
+public interface TeamEventService {
+
+    /**
+     * Subscribes a client to the team creations committed from now on. Each creation is sent as a
+     * {@code team-created} event holding the id, name and acronym of the team.
+     *
+     * <p>A client reconnecting with the id of the last event it received first gets the events it missed,
+     * as long as they are still in the history of recent events and fit in its queue; otherwise it gets a
+     * {@code reset} event
+     * and should reload the listing. A client too slow to keep up with the events is disconnected, and resumes
+     * the same way when it reconnects.
+     *
+     * @param lastEventId The id of the last event received before reconnecting, or {@code null} for a new client.
+     * @return The emitter the events are sent through.
+     */
+    public SseEmitter subscribe(String lastEventId);
+}
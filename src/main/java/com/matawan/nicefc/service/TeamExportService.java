@@ -0,0 +1,33 @@
+package com.matawan.nicefc.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The {@code TeamExportService} interface defines the contract for writing team listings of any size as JSON,
+ * team by team as they are read from the database, instead of building the whole listing in memory first.
+ */
+public interface TeamExportService {
+
+    /**
+     * Writes a page of teams with their players as a JSON array, in the format of the paged listing content.
+     *
+     * @param page   The page number to write.
+     * @param size   The number of teams per page.
+     * @param sortBy The field to sort with: name, acronym or budget.
+     * @param output The stream the JSON array is written to, left open.
+     * @return The number of teams written.
+     * @throws IOException If the JSON cannot be written, for example when the client went away.
+     */
+    public int writeTeams(int page, int size, String sortBy, OutputStream output) throws IOException;
+
+    /**
+     * Writes all teams with their players as a JSON array. Memory use does not depend on the number of teams.
+     *
+     * @param sortBy The field to sort with: name, acronym or budget.
+     * @param output The stream the JSON array is written to, left open.
+     * @return The number of teams written.
+     * @throws IOException If the JSON cannot be written, for example when the client went away.
+     */
+    public int exportTeams(String sortBy, OutputStream output) throws IOException;
+}
@@ -0,0 +1,29 @@
+package com.matawan.nicefc.service;
+
+import com.matawan.nicefc.dto.TeamImportSummaryDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The {@code TeamImportService} interface defines the contract for importing many teams at once.
+ */
+public interface TeamImportService {
+
+    /**
+     * Imports the teams read from a JSON array or from newline-delimited JSON objects.
+     * Teams are parsed and validated one at a time and stored in chunks, each chunk in its own transaction,
+     * so memory use does not depend on the size of the upload.
+     *
+     * <p>The report is written to {@code report} as it goes, as a JSON object holding a {@code results} array
+     * with one entry per team in input order, a {@code summary} object and, if the upload is not valid JSON,
+     * an {@code error} message. Chunks stored before such an error stay stored.
+     *
+     * @param body   The upload to read the teams from.
+     * @param report The stream the import report is written to.
+     * @return The totals of the import.
+     * @throws IOException If the upload cannot be read or the report cannot be written.
+     */
+    public TeamImportSummaryDto importTeams(InputStream body, OutputStream report) throws IOException;
+}
@@ -1,10 +1,17 @@
 package com.matawan.nicefc.service;
 
 import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamListingVersionDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
 import com.matawan.nicefc.entity.Team;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 /**
  * The {@code TeamService} interface defines the contract for handling operations related to teams.
  */
@@ -12,13 +19,26 @@ public interface TeamService {
 
     /**
      * Adds a new team using the provided team data transfer object (DTO).
+     * Duplicated names are rejected by the unique constraint on the team name, so no existence check
+     * is needed beforehand and two concurrent creations of the same team cannot both succeed.
      *
      * @param teamDto The data transfer object representing the team to be added.
+     * @throws com.matawan.nicefc.exception.teamAlreadyExistsException If a team with the same name already exists.
      */
     public void addTeam(TeamDto teamDto);
 
     /**
-     * Checks whether a team with the specified name already exists.
+     * Adds several teams in a single transaction, using batched inserts.
+     * If one of the names is already registered, none of the teams is added.
+     *
+     * @param teamsDto The data transfer objects representing the teams to be added.
+     * @throws com.matawan.nicefc.exception.teamAlreadyExistsException If a team with one of the names already exists.
+     */
+    public void addTeams(List<TeamDto> teamsDto);
+
+    /**
+     * Checks whether a team with the specified name already exists. Names that the in-memory
+     * name filter rules out are reported as absent without querying the database.
      *
      * @param TeamDtoName The name of the team to check for existence.
      * @return {@code true} if a team with the specified name exists; otherwise, {@code false}.
@@ -26,7 +46,17 @@ public interface TeamService {
     public boolean existsByName(String TeamDtoName);
 
     /**
-     * Retrieves a paginated list of teams Dto.
+     * Retrieves, among the specified names, those already used by a team, using a single query
+     * for the names that the in-memory name filter cannot rule out.
+     *
+     * @param teamDtoNames The names of the teams to check for existence.
+     * @return The names that are already registered.
+     */
+    public Set<String> findExistingNames(Collection<String> teamDtoNames);
+
+    /**
+     * Retrieves a paginated list of teams Dto. The total number of teams comes from an in-memory
+     * count kept up to date by {@link #addTeam(TeamDto)} rather than from a count query per request.
      *
      * @param page   The page number. Defaults to 0 if not provided.
      * @param size   The number of items per page. Defaults to 10 if not provided.
@@ -36,4 +66,36 @@ public interface TeamService {
      * @throws IllegalArgumentException If the page or size is less than 0.
      */
     public Page<TeamDto> getTeams(int page, int size, String sortBy);
+
+    /**
+     * Retrieves a paginated list of teams Dto without any total count, for clients that only scroll.
+     *
+     * @param page   The page number.
+     * @param size   The number of items per page.
+     * @param sortBy The field to sort the teams by. Supported values: "name", "acronym", "budget".
+     * @return A {@link Slice} containing {@link TeamDto} objects representing the teams.
+     * @throws IllegalArgumentException If the page or size is less than 0.
+     */
+    public Slice<TeamDto> getTeamsWithoutCount(int page, int size, String sortBy);
+
+    /**
+     * Retrieves a slice of teams Dto using keyset pagination: the slice starts right after the
+     * position encoded in the cursor, so its cost does not depend on how deep the client has scrolled.
+     * No total count is computed.
+     *
+     * @param cursor The opaque cursor returned with the previous slice, or an empty string for the first slice.
+     * @param size   The number of items per slice.
+     * @param sortBy The field to sort the teams by. Supported values: "name", "acronym", "budget".
+     * @return A {@link TeamSliceDto} containing the teams and the cursor of the next slice.
+     * @throws com.matawan.nicefc.exception.InvalidCursorException If the cursor is malformed or was built for another sort field.
+     */
+    public TeamSliceDto getTeams(String cursor, int size, String sortBy);
+
+    /**
+     * Retrieves the version of the team listings without reading any team. The version changes each time
+     * a team is created, so a client holding a listing of the current version already has up-to-date teams.
+     *
+     * @return A {@link TeamListingVersionDto} holding the entity tag and last modification time of the listings.
+     */
+    public TeamListingVersionDto getListingVersion();
 }
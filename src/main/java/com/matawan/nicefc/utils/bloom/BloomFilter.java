@@ -0,0 +1,159 @@
+package com.matawan.nicefc.utils.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code BloomFilter} class is a thread-safe Bloom filter of strings.
+ *
+ * <p>{@link #mightContain(String)} never answers {@code false} for a string that was {@link #put(String) put},
+ * and answers {@code true} for a string that was not with a probability close to the false positive rate
+ * the filter was sized for, as long as no more strings than expected are put.
+ *
+ * <p>The bit positions of a string are derived from a single 64-bit hash with double hashing,
+ * and the bits are stored in an {@link AtomicLongArray} so that puts and lookups need no lock.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder setBits = new LongAdder();
+
+    /**
+     * Constructs an empty BloomFilter sized for the given number of strings and false positive rate.
+     *
+     * @param expectedInsertions The number of strings expected to be put, at least 1.
+     * @param falsePositiveRate  The false positive rate expected once that number is reached, between 0 and 1 exclusive.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expected insertions must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = Math.toIntExact(Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * LN2));
+    }
+
+    /**
+     * Adds a string to the filter.
+     *
+     * @param value The string to add.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash + i * step);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0
+                    && (words.getAndAccumulate(word, mask, (current, added) -> current | added) & mask) == 0) {
+                setBits.increment();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a string may have been added to the filter.
+     *
+     * @param value The string to look for.
+     * @return {@code false} if the string was definitely never added; {@code true} if it may have been.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = index(hash + i * step);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of bits of the filter.
+     *
+     * @return The number of bits, a multiple of 64.
+     */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Retrieves the number of bits set for each string.
+     *
+     * @return The number of hash functions.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Retrieves the heap used by the bits of the filter.
+     *
+     * @return The size of the bits, in bytes.
+     */
+    public long memoryBytes() {
+        return bitCount / 8;
+    }
+
+    /**
+     * Estimates the number of distinct strings added, from the proportion of bits set.
+     *
+     * @return The estimated number of strings.
+     */
+    public long approximateElementCount() {
+        double setRatio = (double) setBits.sum() / bitCount;
+        return Math.round(-Math.log1p(-setRatio) * bitCount / hashCount);
+    }
+
+    /**
+     * Estimates the current false positive rate, from the proportion of bits set.
+     *
+     * @return The probability that a string never added is reported as possibly present.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) setBits.sum() / bitCount, hashCount);
+    }
+
+    private long index(long combinedHash) {
+        return (combinedHash & Long.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * Derives the odd increment used by double hashing from the hash of a string.
+     */
+    private static long step(long hash) {
+        return mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    /**
+     * Hashes the characters of a string with FNV-1a, then spreads the result with the MurmurHash3 finalizer.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
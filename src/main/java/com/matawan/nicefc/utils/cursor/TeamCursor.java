@@ -0,0 +1,111 @@
+package com.matawan.nicefc.utils.cursor;
+
+import com.matawan.nicefc.dto.projection.TeamRow;
+import com.matawan.nicefc.exception.InvalidCursorException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The {@code TeamCursor} class represents the position of the last team of a keyset page:
+ * the sort field, the value of that field and the team identifier used as a tie-breaker.
+ * It is exchanged with clients as an opaque URL-safe Base64 string.
+ */
+public class TeamCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final String sortBy;
+    private final String value;
+    private final Long id;
+
+    private TeamCursor(String sortBy, String value, Long id) {
+        this.sortBy = sortBy;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Builds the cursor pointing after the given team row for the given sort field.
+     *
+     * @param sortBy  The field the teams are sorted by ("name", "acronym" or "budget").
+     * @param teamRow The last team row of the page.
+     * @return The cursor pointing after the team row.
+     */
+    public static TeamCursor after(String sortBy, TeamRow teamRow) {
+        String value = switch (sortBy) {
+            case "acronym" -> teamRow.getAcronym();
+            case "budget" -> teamRow.getBudget().toPlainString();
+            default -> teamRow.getName();
+        };
+        return new TeamCursor(sortBy, value, teamRow.getId());
+    }
+
+    /**
+     * Decodes an opaque cursor and checks that it was built for the requested sort field.
+     *
+     * @param cursor The opaque cursor received from the client.
+     * @param sortBy The field the teams are sorted by in the current request.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException If the cursor is malformed or was built for another sort field.
+     */
+    public static TeamCursor decode(String cursor, String sortBy) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("cursor is invalid");
+        }
+        if (parts.length != 3 || !parts[0].equals(sortBy)) {
+            throw new InvalidCursorException("cursor is invalid");
+        }
+        try {
+            return new TeamCursor(parts[0], parts[2], Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("cursor is invalid");
+        }
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe string.
+     *
+     * @return The encoded cursor.
+     */
+    public String encode() {
+        String raw = sortBy + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retrieves the value of the sort field of the last team.
+     *
+     * @return The sort value, as a string.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Retrieves the value of the sort field of the last team as a number, for the "budget" sort field.
+     *
+     * @return The sort value, as a number.
+     * @throws InvalidCursorException If the value is not a number.
+     */
+    public BigDecimal getValueAsBigDecimal() {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("cursor is invalid");
+        }
+    }
+
+    /**
+     * Retrieves the identifier of the last team.
+     *
+     * @return The team identifier.
+     */
+    public Long getId() {
+        return id;
+    }
+}
@@ -1,6 +1,7 @@
 package com.matawan.nicefc.utils.mapper;
 
 import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.projection.PlayerRow;
 import com.matawan.nicefc.entity.Player;
 import com.matawan.nicefc.entity.Team;
 
@@ -44,6 +45,16 @@ public class PlayerMapper {
         return playerDto;
     }
 
+    /**
+     * Maps a {@link PlayerRow} projection to a {@link PlayerDto}.
+     *
+     * @param playerRow The player row to be mapped.
+     * @return The mapped player DTO.
+     */
+    public static PlayerDto mapPlayerRowToPlayerDto(PlayerRow playerRow) {
+        return new PlayerDto(playerRow.getName(), playerRow.getPosition());
+    }
+
     /**
      * Maps a list of {@link Player} entities to a list of {@link PlayerDto}.
      *
@@ -2,21 +2,37 @@ package com.matawan.nicefc.utils.mapper;
 
 import com.matawan.nicefc.dto.PlayerDto;
 import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.projection.PlayerRow;
+import com.matawan.nicefc.dto.projection.TeamRow;
 import com.matawan.nicefc.entity.Player;
 import com.matawan.nicefc.entity.Team;
 import com.matawan.nicefc.utils.mapper.PlayerMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static com.matawan.nicefc.utils.mapper.PlayerMapper.mapPlayerToPlayerDto;
 
 /**
  * The {@code TeamMapper} class contains static methods for mapping between {@link Team} and {@link TeamDto}.
  * It provides functionality to convert entities to DTOs and vice versa.
+ *
+ * <p>Each conversion is timed by the {@code nicefc.mapper} timer, tagged by {@code conversion}. The mapper being
+ * static, the timers are registered in the global registry, to which Spring Boot adds its own.
  */
 public class TeamMapper {
 
+    private static final Timer TEAM_TO_TEAM_DTO = timer("team-to-team-dto");
+    private static final Timer TEAM_ROWS_TO_TEAM_DTOS = timer("team-rows-to-team-dtos");
+    private static final Timer TEAM_DTO_TO_TEAM = timer("team-dto-to-team");
+    private static final Timer TEAMS_TO_TEAM_DTOS = timer("teams-to-team-dtos");
+    private static final Timer TEAM_DTOS_TO_TEAMS = timer("team-dtos-to-teams");
+
     private TeamMapper(){}
 
     /**
@@ -26,6 +42,15 @@ public class TeamMapper {
      * @return The mapped {@link TeamDto}.
      */
     public static TeamDto mapTeamToTeamDto(Team team) {
+        long start = System.nanoTime();
+        try {
+            return toTeamDto(team);
+        } finally {
+            TEAM_TO_TEAM_DTO.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static TeamDto toTeamDto(Team team) {
         TeamDto teamDto = new TeamDto();
         teamDto.setName(team.getName());
         teamDto.setAcronym(team.getAcronym());
@@ -34,6 +59,42 @@ public class TeamMapper {
         return teamDto;
     }
 
+    /**
+     * Maps {@link TeamRow} projections and the {@link PlayerRow} projections of their players
+     * to a list of {@link TeamDto}, grouping the players by team identifier in a single pass.
+     *
+     * @param teamRows   The team rows to be mapped, in the order of the result.
+     * @param playerRows The player rows of those teams.
+     * @return The list of mapped team DTOs, in the same order as the team rows.
+     */
+    public static List<TeamDto> mapTeamRowsToTeamDtos(List<TeamRow> teamRows, List<PlayerRow> playerRows) {
+        long start = System.nanoTime();
+        try {
+            return toTeamDtos(teamRows, playerRows);
+        } finally {
+            TEAM_ROWS_TO_TEAM_DTOS.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static List<TeamDto> toTeamDtos(List<TeamRow> teamRows, List<PlayerRow> playerRows) {
+        Map<Long, List<PlayerDto>> playersByTeamId = new HashMap<>(teamRows.size() * 2);
+        List<TeamDto> teamsDtoList = new ArrayList<>(teamRows.size());
+        for(TeamRow teamRow : teamRows){
+            TeamDto teamDto = new TeamDto();
+            teamDto.setName(teamRow.getName());
+            teamDto.setAcronym(teamRow.getAcronym());
+            teamDto.setBudget(teamRow.getBudget());
+            teamDto.setPlayers(new ArrayList<>());
+            playersByTeamId.put(teamRow.getId(), teamDto.getPlayers());
+            teamsDtoList.add(teamDto);
+        }
+        for(PlayerRow playerRow : playerRows){
+            List<PlayerDto> players = playersByTeamId.get(playerRow.getTeamId());
+            if(players != null) players.add(PlayerMapper.mapPlayerRowToPlayerDto(playerRow));
+        }
+        return teamsDtoList;
+    }
+
     /**
      * Maps a {@link TeamDto} data transfer object to a {@link Team} entity.
      *
@@ -41,6 +102,15 @@ public class TeamMapper {
      * @return The mapped {@link Team} entity.
      */
     public static Team mapTeamDtoToTeam(TeamDto teamDto) {
+        long start = System.nanoTime();
+        try {
+            return toTeam(teamDto);
+        } finally {
+            TEAM_DTO_TO_TEAM.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Team toTeam(TeamDto teamDto) {
         Team team = new Team();
         team.setName(teamDto.getName());
         team.setAcronym(teamDto.getAcronym());
@@ -57,11 +127,16 @@ public class TeamMapper {
      * @return The list of mapped team DTOs.
      */
     public static List<TeamDto> mapTeamsToTeamDtos(List<Team> teams) {
-        List<TeamDto> teamssDtoList = new ArrayList<>();
-        for(Team team : teams){
-            teamssDtoList.add(mapTeamToTeamDto(team));
+        long start = System.nanoTime();
+        try {
+            List<TeamDto> teamssDtoList = new ArrayList<>();
+            for(Team team : teams){
+                teamssDtoList.add(toTeamDto(team));
+            }
+            return teamssDtoList;
+        } finally {
+            TEAMS_TO_TEAM_DTOS.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-        return teamssDtoList;
     }
 
     /**
@@ -71,12 +146,23 @@ public class TeamMapper {
      * @return The list of mapped player entities.
      */
     public static List<Team> mapTeamDtosToTeams(List<TeamDto> teamsDto) {
-
-        List<Team> teamsList = new ArrayList<>();
-        for(TeamDto teamDto : teamsDto){
-            teamsList.add(mapTeamDtoToTeam(teamDto));
+        long start = System.nanoTime();
+        try {
+            List<Team> teamsList = new ArrayList<>();
+            for(TeamDto teamDto : teamsDto){
+                teamsList.add(toTeam(teamDto));
+            }
+            return teamsList;
+        } finally {
+            TEAM_DTOS_TO_TEAMS.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-        return teamsList;
+    }
+
+    private static Timer timer(String conversion) {
+        return Timer.builder("nicefc.mapper")
+                .description("Time spent converting teams between entities, projections and DTOs")
+                .tag("conversion", conversion)
+                .register(Metrics.globalRegistry);
     }
 }
 
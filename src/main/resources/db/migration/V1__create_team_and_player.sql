@@ -0,0 +1,68 @@
+-- Schema previously created by Hibernate with ddl-auto=update, kept identical to the entity mappings.
+-- Existing databases without migration history are baselined at version 0, so that this script also runs on them:
+-- every object is created only when missing, the sequences are moved past the identifiers already in the tables,
+-- and the sequences and the unique name constraint are brought in line with the mappings when Hibernate created
+-- them differently.
+
+create sequence if not exists team_seq start with 1 increment by 50;
+create sequence if not exists player_seq start with 1 increment by 50;
+-- the pooled identifiers need blocks of 50, the next block starts after the values already handed out
+alter sequence team_seq increment by 50;
+alter sequence player_seq increment by 50;
+
+create table if not exists team (
+    id bigint not null,
+    acronym varchar(255),
+    budget numeric(38,2),
+    name varchar(255),
+    primary key (id)
+);
+
+-- duplicate names are recognized by the name of this constraint: a unique constraint on the name created by
+-- Hibernate under another name is renamed rather than doubled
+do $$
+declare
+    existing name;
+begin
+    if not exists (select 1 from pg_constraint where conrelid = 'team'::regclass and conname = 'uk_team_name') then
+        select c.conname into existing
+        from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+        where c.conrelid = 'team'::regclass and c.contype = 'u'
+          and array_length(c.conkey, 1) = 1 and a.attname = 'name';
+        if existing is null then
+            alter table team add constraint uk_team_name unique (name);
+        else
+            execute format('alter table team rename constraint %I to uk_team_name', existing);
+        end if;
+    end if;
+end $$;
+
+-- back the keyset pagination of the team listing, one per sort field
+create index if not exists idx_team_name_id on team (name, id);
+create index if not exists idx_team_acronym_id on team (acronym, id);
+create index if not exists idx_team_budget_id on team (budget, id);
+
+create table if not exists player (
+    id bigint not null,
+    name varchar(255),
+    position varchar(255),
+    team_id bigint,
+    primary key (id)
+);
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conrelid = 'player'::regclass and contype = 'f') then
+        alter table player add constraint fk_player_team foreign key (team_id) references team;
+    end if;
+end $$;
+
+-- back the reads of the players of a listing by team, PostGreSQL does not index foreign keys
+create index if not exists idx_player_team_id on player (team_id);
+
+-- tables created before the pooled sequences hold identifiers assigned by an identity column or by a sequence
+-- incremented by 1: the pooled optimizer hands out the 50 identifiers up to the value it reads, so the next value
+-- read is moved 50 past the highest identifier in use
+select setval('team_seq', (select coalesce(max(id), 0) + 50 from team), false);
+select setval('player_seq', (select coalesce(max(id), 0) + 50 from player), false);
@@ -0,0 +1,128 @@
+package com.matawan.nicefc;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Smoke test of a packaged build of the application, booted as a separate process against a local PostGreSQL
+ * instance: it creates a team with players and reads it back, then prints the time the process took to serve
+ * requests and its resident memory.
+ *
+ * <p>It only runs when {@code nicefc.smoke.command} gives the command starting the build, so that the native
+ * executable and the JVM jar can be compared:
+ * <pre>
+ * mvn -Pnative native:compile
+ * mvn test -Dtest=NativeImageSmokeTest -Dnicefc.smoke.command=target/nicefc
+ * mvn test -Dtest=NativeImageSmokeTest "-Dnicefc.smoke.command=java -jar target/nicefc-0.0.1-SNAPSHOT.jar"
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "nicefc.smoke.command", matches = ".+")
+public class NativeImageSmokeTest {
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 120_000;
+
+    /**
+     * Test that the build serves the team API on an external database, and report its startup time and memory.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testBuild_ServesTeamsAgainstLocalPostgres() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            List<String> command = new ArrayList<>(List.of(System.getProperty("nicefc.smoke.command").trim().split("\\s+")));
+            command.add("--server.port=" + port);
+            command.add("--spring.datasource.url=jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+            command.add("--spring.datasource.username=postgres");
+            command.add("--spring.datasource.password=postgres");
+            command.add("--spring.jpa.show-sql=false");
+            Path log = Files.createTempFile("nicefc-smoke", ".log");
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+            try {
+                HttpClient client = HttpClient.newHttpClient();
+                String baseUrl = "http://localhost:" + port;
+                awaitHealthy(client, baseUrl, process, log);
+                long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/teams"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"SmokeFc\",\"acronym\":\"SFC\",\"budget\":100000," +
+                                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(201, created.statusCode(), created.body());
+
+                HttpResponse<String> listed = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/teams?size=100&sortBy=name"))
+                        .GET().build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, listed.statusCode(), listed.body());
+                assertTrue(listed.body().contains("\"SmokeFc\"") && listed.body().contains("\"Player1\""), listed.body());
+
+                System.out.printf("%n%s: serving requests after %d ms (%s), resident memory %d MB%n",
+                        String.join(" ", command.subList(0, command.size() - 5)), readyMillis,
+                        startedLine(log), residentKilobytes(process.pid()) / 1024);
+            } finally {
+                process.destroy();
+                process.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl, Process process, Path log) throws Exception {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                fail("the application exited with " + process.exitValue() + ":\n" + Files.readString(log));
+            }
+            try {
+                HttpResponse<Void> health = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (health.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(20);
+        }
+        fail("the application did not become healthy within " + STARTUP_TIMEOUT_MILLIS + " ms:\n" + Files.readString(log));
+    }
+
+    private static String startedLine(Path log) throws IOException {
+        return Files.readAllLines(log).stream()
+                .filter(line -> line.contains("Started NicefcApplication"))
+                .map(line -> line.substring(line.indexOf("Started")))
+                .findFirst()
+                .orElse("no startup line");
+    }
+
+    private static long residentKilobytes(long pid) throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+}
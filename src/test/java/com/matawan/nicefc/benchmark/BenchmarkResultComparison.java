@@ -0,0 +1,88 @@
+package com.matawan.nicefc.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with {@code -rf json}, such as the {@code target/jmh-results.json} of the
+ * {@code benchmarks} Maven profile on two commits: for each benchmark and set of parameters present in both, it
+ * prints the score and the bytes allocated per operation ({@code gc.alloc.rate.norm}) before and after, and the
+ * relative change.
+ *
+ * <p>Run it with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.matawan.nicefc.benchmark.BenchmarkResultComparison \
+ *     -Dexec.args="baseline-results.json target/jmh-results.json"
+ * </pre>
+ */
+public class BenchmarkResultComparison {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BenchmarkResultComparison() {
+    }
+
+    /**
+     * Prints the comparison of the baseline and current results.
+     *
+     * @param args The baseline result file, then the current one.
+     * @throws IOException If a result file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BenchmarkResultComparison <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+        System.out.printf("%-70s %14s %14s %8s %14s %14s %8s%n",
+                "Benchmark", "Score before", "Score after", "Change", "B/op before", "B/op after", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double scoreAfter = after.path("primaryMetric").path("score").asDouble();
+            double allocatedBefore = allocation(before);
+            double allocatedAfter = allocation(after);
+            System.out.printf("%-70s %14.3f %14.3f %7.1f%% %14.1f %14.1f %7.1f%%  %s%n", entry.getKey(),
+                    scoreBefore, scoreAfter, change(scoreBefore, scoreAfter),
+                    allocatedBefore, allocatedAfter, change(allocatedBefore, allocatedAfter),
+                    after.path("primaryMetric").path("scoreUnit").asText());
+        }
+    }
+
+    /**
+     * Reads a result file, keyed by benchmark name and parameters.
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replaceFirst("^com\\.matawan\\.nicefc\\.benchmark\\.", ""));
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode allocation = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return allocation.isMissingNode() ? Double.NaN : allocation.path("score").asDouble();
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? Double.NaN : (after - before) * 100 / before;
+    }
+}
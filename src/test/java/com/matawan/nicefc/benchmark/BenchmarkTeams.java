@@ -0,0 +1,54 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Teams shared by the in-memory benchmarks, valid with respect to the constraints of {@link TeamDto}.
+ */
+final class BenchmarkTeams {
+
+    private static final String[] POSITIONS = {"GK", "DF", "MF", "ST"};
+
+    private BenchmarkTeams() {
+    }
+
+    /**
+     * Builds a team DTO with the given number of players.
+     *
+     * @param index   The index of the team, making its name unique.
+     * @param players The number of players of the team.
+     * @return The team DTO.
+     */
+    static TeamDto teamDto(int index, int players) {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName(String.format("Bench%04d", index));
+        teamDto.setAcronym("BNC");
+        teamDto.setBudget(BigDecimal.valueOf(100000 + index, 2));
+        List<PlayerDto> playerDtos = new ArrayList<>(players);
+        for (int j = 0; j < players; j++) {
+            playerDtos.add(new PlayerDto(String.format("Player%03d", j), POSITIONS[j % POSITIONS.length]));
+        }
+        teamDto.setPlayers(playerDtos);
+        return teamDto;
+    }
+
+    /**
+     * Builds a list of team DTOs with the given number of players each.
+     *
+     * @param teams   The number of teams.
+     * @param players The number of players of each team.
+     * @return The team DTOs.
+     */
+    static List<TeamDto> teamDtos(int teams, int players) {
+        List<TeamDto> teamDtos = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            teamDtos.add(teamDto(i, players));
+        }
+        return teamDtos;
+    }
+}
@@ -0,0 +1,138 @@
+package com.matawan.nicefc.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the Jackson serialization of the team listings, with an {@link ObjectMapper} configured as the
+ * one of the application: a {@code Page<TeamDto>} of {@code GET /api/teams} and a {@link TeamSliceDto} of its keyset
+ * mode, of 10 or 100 teams of 30 players, written to bytes and read back as a client would.
+ *
+ * <p>Part of the suites run by the {@code benchmarks} Maven profile; run it alone with the GC profiler with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamListingJsonBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TeamListingJsonBenchmark {
+
+    private static final int PLAYERS_PER_TEAM = 30;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Page<TeamDto> page;
+    private TeamSliceDto slice;
+    private byte[] pageJson;
+    private byte[] sliceJson;
+
+    /**
+     * The body of a listing page as read by a client, the pagination details other than the total being ignored.
+     */
+    public static class ListingPage {
+
+        /**
+         * The teams of the page.
+         */
+        public List<TeamDto> content;
+
+        /**
+         * The total number of teams.
+         */
+        public long totalElements;
+    }
+
+    /**
+     * Builds the mapper, the listings and their JSON form.
+     *
+     * @throws IOException If a listing cannot be serialized.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<TeamDto> teams = BenchmarkTeams.teamDtos(size, PLAYERS_PER_TEAM);
+        page = new PageImpl<>(teams, PageRequest.of(0, size, Sort.by("name")), 10_000);
+        slice = new TeamSliceDto(teams, size, true, "bmFtZTpCZW5jaDAwOTk6OTk");
+        pageJson = objectMapper.writeValueAsBytes(page);
+        sliceJson = objectMapper.writeValueAsBytes(slice);
+    }
+
+    /**
+     * Writes a listing page.
+     *
+     * @return The JSON bytes.
+     * @throws IOException If the page cannot be serialized.
+     */
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    /**
+     * Reads a listing page.
+     *
+     * @return The page read.
+     * @throws IOException If the page cannot be deserialized.
+     */
+    @Benchmark
+    public ListingPage deserializePage() throws IOException {
+        return objectMapper.readValue(pageJson, ListingPage.class);
+    }
+
+    /**
+     * Writes a keyset slice.
+     *
+     * @return The JSON bytes.
+     * @throws IOException If the slice cannot be serialized.
+     */
+    @Benchmark
+    public byte[] serializeSlice() throws IOException {
+        return objectMapper.writeValueAsBytes(slice);
+    }
+
+    /**
+     * Reads a keyset slice.
+     *
+     * @return The slice read.
+     * @throws IOException If the slice cannot be deserialized.
+     */
+    @Benchmark
+    public TeamSliceDto deserializeSlice() throws IOException {
+        return objectMapper.readValue(sliceJson, TeamSliceDto.class);
+    }
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamListingJsonBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
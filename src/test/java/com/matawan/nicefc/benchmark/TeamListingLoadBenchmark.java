@@ -0,0 +1,131 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.NicefcApplication;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of {@code GET /api/teams} with thousands of requests in flight at once, comparing the Tomcat
+ * platform thread pool with virtual threads. It is not a JMH benchmark: it measures the latency percentiles
+ * of concurrent requests against the running application, not the cost of a single call.
+ *
+ * <p>The page cache and the query cache are turned off so that every request reads Postgres, which is the case
+ * virtual threads are meant for: request threads blocked on the database. Run each mode in its own JVM,
+ * the virtual mode requiring Java 21 or later:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.matawan.nicefc.benchmark.TeamListingLoadBenchmark platform 5000"
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath com.matawan.nicefc.benchmark.TeamListingLoadBenchmark virtual 5000"
+ * </pre>
+ */
+public class TeamListingLoadBenchmark {
+
+    private static final int TEAM_COUNT = 500;
+    private static final int PAGE_SIZE = 10;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Starts the application in the requested mode, then sends rounds of concurrent listing requests
+     * and prints their latency percentiles.
+     *
+     * @param args The mode, {@code platform} or {@code virtual}, then the number of concurrent requests.
+     * @throws Exception If the application cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        boolean virtual = args.length > 0 && args[0].equals("virtual");
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        if (virtual && Runtime.version().feature() < 21) {
+            System.err.println("virtual threads require Java 21 or later, running on Java " + Runtime.version());
+            System.exit(1);
+        }
+
+        // the devtools restarter would run this method again in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(NicefcApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--nicefc.teams.page-cache.maximum-size=0",
+                        "--logging.level.root=WARN");
+        try {
+            TeamService teamService = context.getBean(TeamService.class);
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                TeamDto teamDto = new TeamDto();
+                teamDto.setName(String.format("Load%04d", i));
+                teamDto.setAcronym("LOD");
+                teamDto.setBudget(BigDecimal.valueOf(100000 + i));
+                teamService.addTeam(teamDto);
+            }
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            System.out.printf("mode=%s concurrency=%d%n", virtual ? "virtual" : "platform", concurrency);
+            run(client, port, Math.min(concurrency, 500), false);
+            for (int round = 0; round < ROUNDS; round++) {
+                run(client, port, concurrency, true);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Sends the given number of listing requests at once and waits for all of them.
+     */
+    private static void run(HttpClient client, int port, int concurrency, boolean report) {
+        long[] latencies = new long[concurrency];
+        AtomicInteger errors = new AtomicInteger();
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[concurrency];
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            int page = i % (TEAM_COUNT / PAGE_SIZE);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/api/teams?count=false&size=" + PAGE_SIZE + "&page=" + page))
+                    .timeout(Duration.ofMinutes(2))
+                    .GET()
+                    .build();
+            long sent = System.nanoTime();
+            requests[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(requests).join();
+        long elapsed = System.nanoTime() - start;
+        if (report) {
+            Arrays.sort(latencies);
+            System.out.printf("requests=%d errors=%d throughput=%.0f req/s p50=%.1f ms p90=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                    concurrency, errors.get(), concurrency / (elapsed / 1e9),
+                    percentile(latencies, 0.50), percentile(latencies, 0.90),
+                    percentile(latencies, 0.99), latencies[concurrency - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,104 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.projection.PlayerRow;
+import com.matawan.nicefc.dto.projection.TeamRow;
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.utils.mapper.PlayerMapper;
+import com.matawan.nicefc.utils.mapper.TeamMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link TeamMapper} and {@link PlayerMapper} on teams of 1, 30 and 500 players, in both
+ * directions: a posted {@link TeamDto} to a {@link Team} entity, and an entity or the projection rows of a listing
+ * back to a DTO. No database nor Spring context is involved.
+ *
+ * <p>Part of the suites run by the {@code benchmarks} Maven profile; run it alone with the GC profiler with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamMappingBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TeamMappingBenchmark {
+
+    @Param({"1", "30", "500"})
+    private int players;
+
+    private TeamDto teamDto;
+    private Team team;
+    private List<TeamRow> teamRows;
+    private List<PlayerRow> playerRows;
+
+    /**
+     * Builds the team in each of its three forms.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        teamDto = BenchmarkTeams.teamDto(0, players);
+        team = TeamMapper.mapTeamDtoToTeam(teamDto);
+        team.setId(1L);
+        teamRows = List.of(new TeamRow(1L, teamDto.getName(), teamDto.getAcronym(), teamDto.getBudget()));
+        playerRows = new ArrayList<>(players);
+        for (PlayerDto playerDto : teamDto.getPlayers()) {
+            playerRows.add(new PlayerRow(1L, playerDto.getName(), playerDto.getPosition()));
+        }
+    }
+
+    /**
+     * DTO to entity, as done when a team is created.
+     *
+     * @return The team entity.
+     */
+    @Benchmark
+    public Team teamDtoToTeam() {
+        return TeamMapper.mapTeamDtoToTeam(teamDto);
+    }
+
+    /**
+     * Entity to DTO, as done when a team is read through its entity.
+     *
+     * @return The team DTO.
+     */
+    @Benchmark
+    public TeamDto teamToTeamDto() {
+        return TeamMapper.mapTeamToTeamDto(team);
+    }
+
+    /**
+     * Projection rows to DTO, as done by the team listing.
+     *
+     * @return The team DTOs.
+     */
+    @Benchmark
+    public List<TeamDto> teamRowsToTeamDtos() {
+        return TeamMapper.mapTeamRowsToTeamDtos(teamRows, playerRows);
+    }
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
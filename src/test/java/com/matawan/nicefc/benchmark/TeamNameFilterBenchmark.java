@@ -0,0 +1,123 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.NicefcApplication;
+import com.matawan.nicefc.cache.TeamNameFilter;
+import com.matawan.nicefc.repository.TeamRepository;
+import com.matawan.nicefc.service.TeamService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the team name existence check against the embedded database holding 1M teams:
+ * the {@code existsByName} query alone, versus {@link TeamService#existsByName(String)} which asks
+ * the {@link TeamNameFilter} first, for names that are not registered and for names that are.
+ *
+ * <p>Run it with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamNameFilterBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TeamNameFilterBenchmark {
+
+    private static final int TEAM_COUNT = 1_000_000;
+    private static final int NAME_COUNT = 1 << 16;
+
+    private ConfigurableApplicationContext context;
+    private TeamService teamService;
+    private TeamRepository teamRepository;
+    private TeamNameFilter teamNameFilter;
+    private String[] absentNames;
+    private String[] registeredNames;
+    private int next;
+
+    /**
+     * Starts the application without the web layer, inserts the teams in a single statement
+     * and loads the name filter from them.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NicefcApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--nicefc.teams.name-filter.expected-names=" + TEAM_COUNT);
+        teamService = context.getBean(TeamService.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        teamNameFilter = context.getBean(TeamNameFilter.class);
+
+        context.getBean(JdbcTemplate.class).update(
+                "insert into team (id, name, acronym, budget) " +
+                "select nextval('team_seq'), 'Bench' || g, 'BNC', 100000 from generate_series(1, ?) g", TEAM_COUNT);
+        teamNameFilter.rebuild();
+
+        absentNames = new String[NAME_COUNT];
+        registeredNames = new String[NAME_COUNT];
+        for (int i = 0; i < NAME_COUNT; i++) {
+            absentNames[i] = "New" + i;
+            registeredNames[i] = "Bench" + (1 + (long) i * TEAM_COUNT / NAME_COUNT);
+        }
+    }
+
+    /**
+     * Stops the application and its embedded database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Database only: one existence query per check of a new name.
+     *
+     * @return Whether the name is registered.
+     */
+    @Benchmark
+    public boolean repositoryAbsentName() {
+        return teamRepository.existsByName(absentNames[next++ & (NAME_COUNT - 1)]);
+    }
+
+    /**
+     * Filter first: a new name is almost always ruled out in memory.
+     *
+     * @return Whether the name is registered.
+     */
+    @Benchmark
+    public boolean serviceAbsentName() {
+        return teamService.existsByName(absentNames[next++ & (NAME_COUNT - 1)]);
+    }
+
+    /**
+     * Filter first, registered name: the filter cannot rule it out, so its cost adds to the query.
+     *
+     * @return Whether the name is registered.
+     */
+    @Benchmark
+    public boolean serviceRegisteredName() {
+        return teamService.existsByName(registeredNames[next++ & (NAME_COUNT - 1)]);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamNameFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.NicefcApplication;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the servlet stack on JPA with the reactive stack on R2DBC, both started on a random
+ * port and serving a large page of {@code GET /api/teams} to concurrent clients:
+ * <ul>
+ *     <li>{@code jpa}: the default profile, the page is read then serialized as a whole;</li>
+ *     <li>{@code reactive}: the {@code reactive} profile with the same JSON page;</li>
+ *     <li>{@code reactive-stream}: the {@code reactive} profile with newline-delimited JSON, written as the rows arrive.</li>
+ * </ul>
+ * The page cache and the query cache are turned off so that each request reads the database.
+ * Each stack runs in its own fork; the peak heap used during the trial is printed at its end.
+ *
+ * <p>Run it with the GC profiler to compare allocations per request:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamReactiveStackBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TeamReactiveStackBenchmark {
+
+    private static final int TEAM_COUNT = 2000;
+    private static final int PLAYERS_PER_TEAM = 20;
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"jpa", "reactive", "reactive-stream"})
+    private String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    /**
+     * Starts the application with the stack under test and stores the teams read by the benchmark.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the devtools restarter would run the application again in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(NicefcApplication.class)
+                .run("--server.port=0",
+                        "--spring.profiles.active=" + (stack.equals("jpa") ? "default" : "reactive"),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--nicefc.teams.page-cache.maximum-size=0",
+                        "--logging.level.root=WARN");
+
+        TeamService teamService = context.getBean(TeamService.class);
+        List<TeamDto> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            TeamDto teamDto = new TeamDto();
+            teamDto.setName(String.format("Stack%05d", i));
+            teamDto.setAcronym("STK");
+            teamDto.setBudget(BigDecimal.valueOf(100000 + i));
+            List<PlayerDto> players = new ArrayList<>();
+            for (int j = 0; j < PLAYERS_PER_TEAM; j++) {
+                players.add(new PlayerDto(String.format("Player%02d", j), "ST"));
+            }
+            teamDto.setPlayers(players);
+            teams.add(teamDto);
+            if (teams.size() == 200) {
+                teamService.addTeams(teams);
+                teams.clear();
+            }
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/teams?count=false&sortBy=budget&size=" + PAGE_SIZE))
+                .header("Accept", stack.equals("reactive-stream") ? "application/x-ndjson" : "application/json")
+                .GET()
+                .build();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /**
+     * Prints the peak heap used during the trial, then stops the application and its embedded database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        System.out.printf("%n%s: peak heap used %d MB%n", stack, peakHeap >> 20);
+        context.close();
+    }
+
+    /**
+     * Reads a page of {@value #PAGE_SIZE} teams with their players, consuming the response as it arrives.
+     *
+     * @return The number of bytes received.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the request is interrupted.
+     */
+    @Benchmark
+    public long largePage() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/teams answered " + response.statusCode());
+        }
+        long bytes = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream body = response.body()) {
+            for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                bytes += read;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamReactiveStackBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.NicefcApplication;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.service.TeamService;
+import com.matawan.nicefc.utils.mapper.TeamMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JMH benchmark comparing the two read paths of the team listing against the embedded database:
+ * hydrating {@link Team} entities and copying them with {@link TeamMapper#mapTeamToTeamDto(Team)},
+ * versus the projection path used by {@link TeamService#getTeams(int, int, String)}. The entity path is not used
+ * by the application, so its two queries are written here rather than declared on {@code TeamRepository}.
+ *
+ * <p>Run it with the GC profiler to compare allocations per operation:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamReadPathBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TeamReadPathBenchmark {
+
+    private static final int TEAM_COUNT = 200;
+    private static final int PLAYERS_PER_TEAM = 30;
+
+    @Param({"10", "100"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private TeamService teamService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Starts the application without the web layer and stores the teams read by the benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(NicefcApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false");
+        teamService = context.getBean(TeamService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            TeamDto teamDto = new TeamDto();
+            teamDto.setName(String.format("Bench%04d", i));
+            teamDto.setAcronym("BNC");
+            teamDto.setBudget(BigDecimal.valueOf(100000 + i));
+            List<PlayerDto> players = new ArrayList<>();
+            for (int j = 0; j < PLAYERS_PER_TEAM; j++) {
+                players.add(new PlayerDto(String.format("Player%02d", j), "ST"));
+            }
+            teamDto.setPlayers(players);
+            teamService.addTeam(teamDto);
+        }
+    }
+
+    /**
+     * Stops the application and its embedded database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Entity path: selects the ids of the page, loads the managed teams with their players in one join query,
+     * then copies them field by field.
+     *
+     * @return The mapped team DTOs.
+     */
+    @Benchmark
+    public List<TeamDto> entityMapperPath() {
+        return readOnlyTransaction.execute(status -> {
+            List<Long> teamIds = entityManager.createQuery("select t.id from Team t order by t.name, t.id", Long.class)
+                    .setMaxResults(size)
+                    .getResultList();
+            Map<Long, Team> teamsById = entityManager
+                    .createQuery("select distinct t from Team t left join fetch t.players where t.id in :ids", Team.class)
+                    .setParameter("ids", teamIds)
+                    .getResultStream()
+                    .collect(Collectors.toMap(Team::getId, Function.identity()));
+            return teamIds.stream().map(id -> TeamMapper.mapTeamToTeamDto(teamsById.get(id))).toList();
+        });
+    }
+
+    /**
+     * Projection path: reads rows straight into the DTOs.
+     *
+     * @return The team DTOs.
+     */
+    @Benchmark
+    public List<TeamDto> projectionPath() {
+        return teamService.getTeams(0, size, "name").getContent();
+    }
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.matawan.nicefc.benchmark;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the Bean Validation of a posted {@link TeamDto} holding 1, 30 or 500 players, valid or not.
+ *
+ * <p>{@code validateTeam} is what {@code POST /api/teams} does, the players list not being cascaded; and
+ * {@code validateTeamAndPlayers} adds the validation of every {@link PlayerDto}, the cost a cascaded
+ * {@code @Valid} on the players would add.
+ *
+ * <p>Part of the suites run by the {@code benchmarks} Maven profile; run it alone with the GC profiler with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamValidationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TeamValidationBenchmark {
+
+    @Param({"1", "30", "500"})
+    private int players;
+
+    @Param({"true", "false"})
+    private boolean valid;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TeamDto teamDto;
+
+    /**
+     * Builds the validator and the team, breaking the constraints of the team and of one player in ten when it
+     * must not be valid.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        teamDto = BenchmarkTeams.teamDto(0, players);
+        if (!valid) {
+            teamDto.setAcronym("TOO LONG");
+            teamDto.setBudget(null);
+            for (int i = 0; i < players; i += 10) {
+                teamDto.getPlayers().get(i).setName("X");
+            }
+        }
+    }
+
+    /**
+     * Closes the validator factory.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Validates the team alone.
+     *
+     * @return The constraint violations.
+     */
+    @Benchmark
+    public Set<ConstraintViolation<TeamDto>> validateTeam() {
+        return validator.validate(teamDto);
+    }
+
+    /**
+     * Validates the team and each of its players.
+     *
+     * @return The constraint violations.
+     */
+    @Benchmark
+    public Set<ConstraintViolation<?>> validateTeamAndPlayers() {
+        Set<ConstraintViolation<?>> violations = new HashSet<>(validator.validate(teamDto));
+        for (PlayerDto playerDto : teamDto.getPlayers()) {
+            violations.addAll(validator.validate(playerDto));
+        }
+        return violations;
+    }
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamValidationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.matawan.nicefc.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.nicefc.config.protobuf.TeamProtobufCodec;
+import com.matawan.nicefc.dto.TeamDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the encodings the team API negotiates through the {@code Accept} header: a {@code Page<TeamDto>}
+ * of {@code GET /api/teams} of 100 teams of 30 players written as JSON, Smile, CBOR and Protocol Buffers, with mappers
+ * configured as those of the application. The size of the encoded page is printed once per encoding when the trial
+ * starts, in the output of the run.
+ *
+ * <p>Part of the suites run by the {@code benchmarks} Maven profile; run it alone with the GC profiler with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TeamWireFormatBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TeamWireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int PLAYERS_PER_TEAM = 30;
+
+    @Param({"json", "smile", "cbor", "protobuf"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private Page<TeamDto> page;
+
+    /**
+     * Builds the mapper of the encoding and the page, and prints the size of the encoded page.
+     *
+     * @throws IOException If the page cannot be encoded.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<TeamDto> teams = BenchmarkTeams.teamDtos(PAGE_SIZE, PLAYERS_PER_TEAM);
+        page = new PageImpl<>(teams, PageRequest.of(0, PAGE_SIZE, Sort.by("name")), 10_000);
+        System.out.printf("%s page of %d teams: %d bytes%n", format, PAGE_SIZE, serializePage().length);
+    }
+
+    /**
+     * Writes the page in the encoding of the trial.
+     *
+     * @return The encoded page.
+     * @throws IOException If the page cannot be encoded.
+     */
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        if (format.equals("protobuf")) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            TeamProtobufCodec.writeTeamPage(page, output);
+            return output.toByteArray();
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    /**
+     * Runs the benchmark with the GC profiler.
+     *
+     * @param args The command-line arguments, unused.
+     * @throws RunnerException If the benchmark fails to run.
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TeamWireFormatBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
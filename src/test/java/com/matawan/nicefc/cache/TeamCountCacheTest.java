@@ -0,0 +1,66 @@
+package com.matawan.nicefc.cache;
+
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import com.matawan.nicefc.repository.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@code TeamCountCache} class.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TeamCountCacheTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Sets up the meter registry before each test method.
+     */
+    @BeforeEach
+    void setUp(){
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Test that the count is loaded once, then served from memory and incremented on team creation.
+     */
+    @Test
+    void testGetCount_LoadedOnceThenIncremented() {
+        TeamCountCache teamCountCache = new TeamCountCache(teamRepository, meterRegistry, Duration.ofMinutes(1));
+        when(teamRepository.count()).thenReturn(5L);
+
+        assertEquals(5L, teamCountCache.getCount());
+        teamCountCache.onTeamCreated(new TeamCreatedEvent(1L, "nice", "NFC"));
+        assertEquals(6L, teamCountCache.getCount());
+
+        verify(teamRepository, times(1)).count();
+        assertEquals(1.0, meterRegistry.get("nicefc.teams.count.queries").tag("outcome", "executed").counter().count());
+        assertEquals(1.0, meterRegistry.get("nicefc.teams.count.queries").tag("outcome", "cached").counter().count());
+    }
+
+    /**
+     * Test that an expired count is reloaded from the database.
+     */
+    @Test
+    void testGetCount_ReloadedAfterTimeToLive() {
+        TeamCountCache teamCountCache = new TeamCountCache(teamRepository, meterRegistry, Duration.ZERO);
+        when(teamRepository.count()).thenReturn(5L, 7L);
+
+        assertEquals(5L, teamCountCache.getCount());
+        assertEquals(7L, teamCountCache.getCount());
+
+        verify(teamRepository, times(2)).count();
+    }
+}
@@ -0,0 +1,150 @@
+package com.matawan.nicefc.cache;
+
+import com.matawan.nicefc.config.routing.ReadYourWrites;
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the {@code TeamPageCache} class.
+ */
+public class TeamPageCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TeamPageCache teamPageCache;
+
+    /**
+     * Sets up the meter registry and the cache before each test method.
+     */
+    @BeforeEach
+    void setUp(){
+        meterRegistry = new SimpleMeterRegistry();
+        teamPageCache = new TeamPageCache(meterRegistry, 100, Duration.ofMinutes(1),
+                new StaticListableBeanFactory().getBeanProvider(ReadYourWrites.class));
+    }
+
+    /**
+     * Test that a listing is loaded once, then served from memory.
+     */
+    @Test
+    void testGet_LoadedOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        teamPageCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+        Integer cached = teamPageCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+
+        assertEquals(1, cached);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "teamPages").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "teamPages").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    /**
+     * Test that listings with different parameters are loaded separately.
+     */
+    @Test
+    void testGet_KeyedOnParameters() {
+        AtomicInteger loads = new AtomicInteger();
+
+        teamPageCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+        teamPageCache.get("page", 0, 10, "budget", null, loads::incrementAndGet);
+        teamPageCache.get("slice", 0, 10, "name", null, loads::incrementAndGet);
+        teamPageCache.get("cursor", 0, 10, "name", "", loads::incrementAndGet);
+
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * Test that a team creation makes the listings loaded before it stale.
+     */
+    @Test
+    void testGet_ReloadedAfterTeamCreation() {
+        AtomicInteger loads = new AtomicInteger();
+
+        teamPageCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+        teamPageCache.onTeamCreated(new TeamCreatedEvent(1L, "nice", "NFC"));
+        Integer reloaded = teamPageCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+
+        assertEquals(2, reloaded);
+        assertEquals(1L, teamPageCache.getGeneration());
+    }
+
+    /**
+     * Test that each creation moves the last modification time to a later whole second, even within the same second,
+     * as {@code If-Modified-Since} is compared at the precision of a second.
+     */
+    @Test
+    void testGetVersion_LastModifiedMovesToLaterSecond() {
+        long before = teamPageCache.getVersion().getLastModified();
+
+        teamPageCache.onTeamCreated(null);
+        long first = teamPageCache.getVersion().getLastModified();
+        teamPageCache.onTeamCreated(null);
+        long second = teamPageCache.getVersion().getLastModified();
+
+        assertEquals(0, first % 1000);
+        assertEquals(0, second % 1000);
+        assertTrue(first / 1000 > before / 1000);
+        assertTrue(second / 1000 > first / 1000);
+    }
+
+    /**
+     * Test that a client that has just written loads its listings without the cache, while other clients keep
+     * using it.
+     */
+    @Test
+    void testGet_ClientWithWriteSkipsCache() {
+        ReadYourWrites readYourWrites = new ReadYourWrites();
+        TeamPageCache routedCache = new TeamPageCache(meterRegistry, 100, Duration.ofMinutes(1),
+                new StaticListableBeanFactory(Map.of("readYourWrites", readYourWrites)).getBeanProvider(ReadYourWrites.class));
+        AtomicInteger loads = new AtomicInteger();
+
+        readYourWrites.begin(42, lsn -> {});
+        try {
+            routedCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+            routedCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+        } finally {
+            readYourWrites.end();
+        }
+        assertEquals(2, loads.get());
+
+        readYourWrites.begin(0, lsn -> {});
+        try {
+            routedCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+            routedCache.get("page", 0, 10, "name", null, loads::incrementAndGet);
+        } finally {
+            readYourWrites.end();
+        }
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * Test that the listings of a generation, cached or not, are loaded at the position of the primary recorded
+     * once its creation has committed, and that other reads are not held to it.
+     */
+    @Test
+    void testGet_LoadedAtPositionOfGeneration() {
+        ReadYourWrites readYourWrites = new ReadYourWrites();
+        TeamPageCache routedCache = new TeamPageCache(meterRegistry, 100, Duration.ofMinutes(1),
+                new StaticListableBeanFactory(Map.of("readYourWrites", readYourWrites)).getBeanProvider(ReadYourWrites.class));
+
+        readYourWrites.recordWrite(100);
+        routedCache.onTeamCreated(null);
+
+        assertEquals(100L, routedCache.<Long>get("page", 0, 10, "name", null, readYourWrites::requiredLsn));
+        assertEquals(100L, routedCache.<Long>loadCurrent(readYourWrites::requiredLsn));
+        assertEquals(0, readYourWrites.requiredLsn());
+    }
+
+}
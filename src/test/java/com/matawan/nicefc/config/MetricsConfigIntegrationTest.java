@@ -0,0 +1,77 @@
+package com.matawan.nicefc.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the metrics of the request path, read from the registry and from the Prometheus scrape.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsConfigIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Test that a creation and a listing are timed in each layer, that their Hibernate work is published per
+     * endpoint and sort field, and that all of it is scraped by Prometheus.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testCreateAndList_MetricsPublished() throws Exception {
+        String name = "Metrics" + System.nanoTime() % 1_000_000;
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"acronym\":\"MTR\",\"budget\":1000," +
+                                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        // the creation made the cached listings stale, so this one is read from the database
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("size", "5")
+                        .param("sortBy", "budget"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        DistributionSummary listingStatements = meterRegistry.find("nicefc.request.statements")
+                .tags("method", "GET", "uri", "/api/teams", "sortBy", "budget").summary();
+        assertNotNull(listingStatements);
+        assertEquals(1, listingStatements.count());
+        assertTrue(listingStatements.max() >= 1, "the listing read no row");
+        DistributionSummary creationFlushes = meterRegistry.find("nicefc.request.flushes")
+                .tags("method", "POST", "uri", "/api/teams", "sortBy", "none").summary();
+        assertNotNull(creationFlushes);
+        assertTrue(creationFlushes.max() >= 1, "the creation was not flushed");
+        assertNotNull(meterRegistry.find("nicefc.request.entities.loaded").tags("uri", "/api/teams").summary());
+
+        assertNotNull(meterRegistry.find("nicefc.controller").tags("method", "getTeams").timer());
+        assertNotNull(meterRegistry.find("nicefc.controller").tags("method", "addTeam").timer());
+        assertNotNull(meterRegistry.find("nicefc.service").tags("method", "getTeams").timer());
+        assertNotNull(meterRegistry.find("nicefc.mapper").tags("conversion", "team-rows-to-team-dtos").timer());
+        assertNotNull(meterRegistry.find("nicefc.mapper").tags("conversion", "team-dto-to-team").timer());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(containsString("nicefc_controller_seconds_bucket")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("nicefc_request_statements_bucket")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("hibernate_statements_total")));
+    }
+}
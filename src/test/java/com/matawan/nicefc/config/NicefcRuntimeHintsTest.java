@@ -0,0 +1,42 @@
+package com.matawan.nicefc.config;
+
+import com.matawan.nicefc.config.metrics.RequestStatisticsSessionListener;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.projection.TeamRow;
+import com.matawan.nicefc.entity.Player;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.domain.PageImpl;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@code NicefcRuntimeHints} class.
+ */
+public class NicefcRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    /**
+     * Test that the types serialized, validated and instantiated by reflection are reachable in the native image.
+     *
+     * @throws NoSuchMethodException if an expected accessor does not exist.
+     */
+    @Test
+    void testRegisterHints_ReflectionAndResources() throws NoSuchMethodException {
+        new NicefcRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TeamDto.class.getMethod("getPlayers")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TeamDto.class).withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Player.class.getMethod("getTeam")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(PageImpl.class.getMethod("getContent")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TeamRow.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RequestStatisticsSessionListener.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LogstashEncoder.class).withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("hibernate-cache.conf").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__create_team_and_player.sql").test(hints));
+    }
+}
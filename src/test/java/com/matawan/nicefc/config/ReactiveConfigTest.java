@@ -0,0 +1,23 @@
+package com.matawan.nicefc.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the {@code ReactiveConfig} class.
+ */
+public class ReactiveConfigTest {
+
+    /**
+     * Test that the R2DBC URL derived from the JDBC one keeps the host, port and database but not the driver properties.
+     */
+    @Test
+    void testToR2dbcUrl() {
+        assertEquals("r2dbc:postgresql://db.example.com:5433/nicefc",
+                ReactiveConfig.toR2dbcUrl("jdbc:postgresql://db.example.com:5433/nicefc?reWriteBatchedInserts=true"));
+        assertEquals("r2dbc:postgresql://localhost/postgres", ReactiveConfig.toR2dbcUrl("jdbc:postgresql://localhost/postgres"));
+        assertThrows(IllegalArgumentException.class, () -> ReactiveConfig.toR2dbcUrl("jdbc:h2:mem:nicefc"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.matawan.nicefc.config;
+
+import com.matawan.nicefc.config.routing.ReadYourWrites;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the read/write routing configured by the {@code ReplicaRoutingConfig} class,
+ * on two embedded streaming replicas of the embedded primary.
+ */
+@SpringBootTest(properties = {"nicefc.datasource.replicas.embedded=2", "nicefc.datasource.replicas.poll-interval=20ms"})
+public class ReplicaRoutingConfigIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * Test that read-only transactions are spread over the replicas once they have caught up,
+     * while read-write transactions stay on the primary.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting for the replicas.
+     */
+    @Test
+    void testRouting_ReadOnlyOnReplicas() throws InterruptedException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        Set<Integer> replicaPorts = new HashSet<>();
+        for (int attempt = 0; attempt < 500 && replicaPorts.size() < 2; attempt++) {
+            Integer replicaPort = readOnly.execute(status -> jdbcTemplate.queryForObject(
+                    "select case when pg_is_in_recovery() then inet_server_port() end", Integer.class));
+            if (replicaPort != null) {
+                replicaPorts.add(replicaPort);
+            } else {
+                Thread.sleep(20);
+            }
+        }
+
+        assertEquals(2, replicaPorts.size());
+        Boolean primaryInRecovery = readWrite.execute(status -> jdbcTemplate.queryForObject("select pg_is_in_recovery()", Boolean.class));
+        assertEquals(Boolean.FALSE, primaryInRecovery);
+    }
+
+    /**
+     * Test that a team is listed to the client that created it right after its creation, the replicas being used
+     * only once they have replayed it, and that the reads of other clients do not wait for that write.
+     */
+    @Test
+    void testRouting_ReadYourWrites() {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName("ReplicaFc");
+        teamDto.setAcronym("RFC");
+        teamDto.setBudget(BigDecimal.valueOf(100000));
+        AtomicLong reportedLsn = new AtomicLong();
+
+        readYourWrites.begin(0, reportedLsn::set);
+        try {
+            teamService.addTeam(teamDto);
+
+            assertTrue(reportedLsn.get() > 0);
+            assertEquals(reportedLsn.get(), readYourWrites.requiredLsn());
+            assertTrue(teamService.getTeams(0, 1000, "name").getContent().stream()
+                    .anyMatch(team -> team.getName().equals("ReplicaFc")));
+        } finally {
+            readYourWrites.end();
+        }
+
+        readYourWrites.begin(0, lsn -> {});
+        try {
+            assertEquals(0, readYourWrites.requiredLsn());
+        } finally {
+            readYourWrites.end();
+        }
+    }
+
+    /**
+     * Test that the task executor writing the streamed responses runs them with the position of their client.
+     *
+     * @throws Exception if the task fails.
+     */
+    @Test
+    void testTaskExecutor_CarriesClientPosition() throws Exception {
+        AtomicLong seenLsn = new AtomicLong(-1);
+
+        readYourWrites.begin(42, lsn -> {});
+        Future<?> task;
+        try {
+            task = applicationTaskExecutor.submit(() -> seenLsn.set(readYourWrites.requiredLsn()));
+        } finally {
+            readYourWrites.end();
+        }
+        task.get();
+
+        assertEquals(42, seenLsn.get());
+    }
+}
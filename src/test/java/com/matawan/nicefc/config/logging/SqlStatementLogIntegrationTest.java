@@ -0,0 +1,97 @@
+package com.matawan.nicefc.config.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.matawan.nicefc.repository.TeamRepository;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the logging pipeline: the events go through a non-blocking asynchronous appender writing
+ * JSON, and the SQL statements are logged with their duration when slow or sampled.
+ */
+@SpringBootTest(properties = "nicefc.logging.sql.slow-threshold=0ms")
+@DirtiesContext
+public class SqlStatementLogIntegrationTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("nicefc.sql");
+    private final ListAppender<ILoggingEvent> sqlEvents = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        sqlEvents.start();
+        sqlLogger.addAppender(sqlEvents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(sqlEvents);
+        SqlStatementLog.configure(Duration.ofMillis(200), 0);
+    }
+
+    /**
+     * Test that the root logger writes through a bounded asynchronous appender that never blocks, with a JSON encoder.
+     */
+    @Test
+    void testRootAppender_AsyncJson() {
+        Logger root = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        AsyncAppender async = assertInstanceOf(AsyncAppender.class, root.getAppender("ASYNC"));
+        assertTrue(async.isNeverBlock());
+        assertEquals(8192, async.getQueueSize());
+        assertTrue(async.getDiscardingThreshold() > 0);
+        assertInstanceOf(LogstashEncoder.class,
+                ((ch.qos.logback.core.ConsoleAppender<ILoggingEvent>) async.getAppender("JSON_CONSOLE")).getEncoder());
+    }
+
+    /**
+     * Test that a statement slower than the threshold is logged at WARN with its SQL text and duration.
+     */
+    @Test
+    void testExecuted_SlowStatementLogged() {
+        teamRepository.existsByName("Slow statement");
+
+        ILoggingEvent event = sqlEvents.list.stream()
+                .filter(e -> e.getKeyValuePairs() != null && String.valueOf(e.getKeyValuePairs().get(0).value).contains("team"))
+                .findFirst().orElseThrow(() -> new AssertionError("no SQL statement logged: " + sqlEvents.list));
+        assertEquals(Level.WARN, event.getLevel());
+        assertEquals("sql", event.getKeyValuePairs().get(0).key);
+        assertEquals("durationMs", event.getKeyValuePairs().get(1).key);
+        assertTrue((Double) event.getKeyValuePairs().get(1).value >= 0);
+    }
+
+    /**
+     * Test that the faster statements are logged at INFO when sampled, and not at all with a sample rate of 0.
+     */
+    @Test
+    void testExecuted_FastStatementsSampled() {
+        SqlStatementLog.configure(Duration.ofSeconds(10), 1);
+        SqlStatementLog.prepared("select 1");
+        SqlStatementLog.executed(1_000);
+        SqlStatementLog.configure(Duration.ofSeconds(10), 0);
+        SqlStatementLog.prepared("select 2");
+        SqlStatementLog.executed(1_000);
+
+        assertEquals(1, sqlEvents.list.size());
+        assertEquals(Level.INFO, sqlEvents.list.get(0).getLevel());
+        assertEquals("select 1", sqlEvents.list.get(0).getKeyValuePairs().get(0).value);
+    }
+}
@@ -0,0 +1,104 @@
+package com.matawan.nicefc.config.metrics;
+
+import com.matawan.nicefc.exception.SqlStatementBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@code SqlStatementBudget} class.
+ */
+public class SqlStatementBudgetTest {
+
+    private static final String TEAM_SELECT = "select t.id,t.name from team t where t.id=?";
+    private static final String PLAYER_SELECT = "select p.id,p.name from player p where p.team_id=?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        RequestStatistics.end();
+    }
+
+    /**
+     * Test that a statement run once per team with different parameters is reported as repeated, and counted.
+     */
+    @Test
+    void testCheck_RepeatedStatementsReported() {
+        SqlStatementBudget budget = new SqlStatementBudget(List.of(), SqlStatementBudget.Mode.LOG, 1, 3, meterRegistry);
+        RequestStatistics statistics = RequestStatistics.begin(budget.sample());
+        run(statistics, TEAM_SELECT);
+        for (int i = 0; i < 5; i++) {
+            run(statistics, PLAYER_SELECT);
+        }
+
+        assertEquals(Map.of(PLAYER_SELECT, 5), statistics.getRepeatedStatements(3));
+        budget.check("GET", "/api/teams", statistics);
+        assertEquals(1, meterRegistry.get("nicefc.sql.statements.repeated").tags("uri", "/api/teams").counter().count());
+    }
+
+    /**
+     * Test that a request over its budget fails in the fail mode, naming its repeated statements.
+     */
+    @Test
+    void testCheck_OverBudget_FailMode() {
+        SqlStatementBudget budget = new SqlStatementBudget(List.of("GET /api/teams=3"), SqlStatementBudget.Mode.FAIL, 1, 3, meterRegistry);
+        RequestStatistics statistics = RequestStatistics.begin(budget.sample());
+        for (int i = 0; i < 4; i++) {
+            run(statistics, PLAYER_SELECT);
+        }
+
+        SqlStatementBudgetExceededException exception = assertThrows(SqlStatementBudgetExceededException.class,
+                () -> budget.check("GET", "/api/teams", statistics));
+        assertTrue(exception.getMessage().contains("budget of 3") && exception.getMessage().contains(PLAYER_SELECT), exception.getMessage());
+        assertEquals(1, meterRegistry.get("nicefc.sql.budget.exceeded").counter().count());
+        // another endpoint has no budget
+        assertDoesNotThrow(() -> budget.check("POST", "/api/teams", statistics));
+    }
+
+    /**
+     * Test that a request over its budget is only logged in the log mode, and that nothing is grouped nor checked
+     * in the off mode.
+     */
+    @Test
+    void testCheck_OverBudget_LogAndOffModes() {
+        SqlStatementBudget logBudget = new SqlStatementBudget(List.of("GET /api/teams=1"), SqlStatementBudget.Mode.LOG, 0, 3, meterRegistry);
+        RequestStatistics statistics = RequestStatistics.begin(logBudget.sample());
+        run(statistics, TEAM_SELECT);
+        run(statistics, PLAYER_SELECT);
+
+        assertFalse(statistics.isGroupingStatements());
+        assertDoesNotThrow(() -> logBudget.check("GET", "/api/teams", statistics));
+        assertEquals(1, meterRegistry.get("nicefc.sql.budget.exceeded").counter().count());
+
+        SqlStatementBudget offBudget = new SqlStatementBudget(List.of("GET /api/teams=1"), SqlStatementBudget.Mode.OFF, 1, 3, meterRegistry);
+        assertFalse(offBudget.sample());
+        assertDoesNotThrow(() -> offBudget.check("GET", "/api/teams", statistics));
+        assertEquals(1, meterRegistry.get("nicefc.sql.budget.exceeded").counter().count());
+    }
+
+    /**
+     * Test that a budget missing its method or its number of statements is rejected.
+     */
+    @Test
+    void testConstructor_InvalidBudget() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SqlStatementBudget(List.of("/api/teams=3"), SqlStatementBudget.Mode.LOG, 1, 3, meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SqlStatementBudget(List.of("GET /api/teams"), SqlStatementBudget.Mode.LOG, 1, 3, meterRegistry));
+    }
+
+    private static void run(RequestStatistics statistics, String sql) {
+        statistics.statementPrepared();
+        statistics.statementInspected(sql);
+    }
+}
@@ -0,0 +1,70 @@
+package com.matawan.nicefc.config.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the SQL statements run by a request performed through {@code MockMvc}, read from the statistics
+ * left by {@link RequestStatisticsFilter}:
+ * <pre>
+ * mockMvc.perform(get("/api/teams"))
+ *         .andExpect(SqlStatementMatchers.atMostStatements(3))
+ *         .andExpect(SqlStatementMatchers.noRepeatedStatements());
+ * </pre>
+ * Checking the repeated statements requires the statements of every request to be grouped, with
+ * {@code nicefc.sql.budget.sample-rate=1}.
+ */
+public final class SqlStatementMatchers {
+
+    private static final int REPEATED_THRESHOLD = 3;
+
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * Asserts that the request ran at most a number of statements.
+     *
+     * @param maximum The number of statements allowed.
+     * @return The matcher of the request.
+     */
+    public static ResultMatcher atMostStatements(int maximum) {
+        return result -> {
+            long statements = statistics(result).getStatements();
+            assertTrue(statements <= maximum, "expected at most " + maximum + " SQL statements but was " + statements);
+        };
+    }
+
+    /**
+     * Asserts that the request ran no statement 3 times or more with the same text, which would be a likely N+1
+     * pattern, as {@code nicefc.sql.budget.repeated-threshold} does by default. A sequence read twice for its first
+     * block of ids is not reported.
+     *
+     * @return The matcher of the request.
+     */
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> {
+            RequestStatistics statistics = statistics(result);
+            assertTrue(statistics.isGroupingStatements(),
+                    "the statements of the request were not grouped, set nicefc.sql.budget.sample-rate=1");
+            Map<String, Integer> repeated = statistics.getRepeatedStatements(REPEATED_THRESHOLD);
+            assertTrue(repeated.isEmpty(), "statements run repeatedly: " + repeated);
+        };
+    }
+
+    /**
+     * Retrieves the statistics of a request.
+     *
+     * @param result The result of the request.
+     * @return The statistics of the request.
+     */
+    public static RequestStatistics statistics(MvcResult result) {
+        RequestStatistics statistics = (RequestStatistics) result.getRequest().getAttribute(RequestStatisticsFilter.STATISTICS_ATTRIBUTE);
+        assertNotNull(statistics, "no SQL statement statistics, the request did not go through RequestStatisticsFilter");
+        return statistics;
+    }
+}
@@ -0,0 +1,56 @@
+package com.matawan.nicefc.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Integration tests for the connection pool configured by the {@code postGreSQLConfig} class.
+ */
+@SpringBootTest
+public class postGreSQLConfigIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Test that the embedded database is reached through the configured HikariCP pool, with the driver properties applied.
+     */
+    @Test
+    void testDataSource_IsTunedHikariPool() throws SQLException {
+        HikariDataSource pool = assertInstanceOf(HikariDataSource.class, dataSource);
+        assertEquals("nicefc", pool.getPoolName());
+        assertEquals(40, pool.getMaximumPoolSize());
+
+        try (Connection connection = pool.getConnection()) {
+            assertEquals(3, connection.unwrap(PGConnection.class).getPrepareThreshold());
+        }
+    }
+
+    /**
+     * Test that the time spent acquiring a connection is published as a metric.
+     */
+    @Test
+    void testDataSource_AcquireTimeMetric() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertNotNull(connection);
+        }
+
+        assertNotNull(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "nicefc").timer());
+        assertNotNull(meterRegistry.get("hikaricp.connections.active").tag("pool", "nicefc").gauge());
+    }
+}
@@ -0,0 +1,145 @@
+package com.matawan.nicefc.config.protobuf;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnknownFieldSet;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@code TeamProtobufCodec} class. The encoded messages are decoded with the generic protobuf parser,
+ * to check the field numbers and wire types against {@code proto/team.proto}.
+ */
+public class TeamProtobufCodecTest {
+
+    /**
+     * Test that a team is encoded with the fields of the {@code Team} message and read back unchanged.
+     *
+     * @throws IOException if the team cannot be encoded or decoded.
+     */
+    @Test
+    void testWriteAndReadTeam() throws IOException {
+        TeamDto team = team("Nice Fc", "NFC", "100000.50", new PlayerDto("Player1", "ST"), new PlayerDto("Player2", "GK"));
+
+        byte[] encoded = write(team);
+
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(encoded);
+        assertEquals("Nice Fc", string(fields, 1));
+        assertEquals("NFC", string(fields, 2));
+        assertEquals(2, fields.getField(3).getLengthDelimitedList().size());
+        assertEquals("100000.50", string(fields, 4));
+        UnknownFieldSet player = UnknownFieldSet.parseFrom(fields.getField(3).getLengthDelimitedList().get(1));
+        assertEquals("Player2", string(player, 1));
+        assertEquals("GK", string(player, 2));
+
+        assertEquals(team, TeamProtobufCodec.readTeam(new ByteArrayInputStream(encoded)));
+    }
+
+    /**
+     * Test that a page carries its total and a slice of the paged listing does not.
+     *
+     * @throws IOException if the listings cannot be encoded.
+     */
+    @Test
+    void testWriteTeamPage_TotalOnlyForPage() throws IOException {
+        List<TeamDto> teams = List.of(team("TeamA", "TMA", "1000"), team("TeamB", "TMB", "2000"));
+
+        ByteArrayOutputStream page = new ByteArrayOutputStream();
+        TeamProtobufCodec.writeTeamPage(new PageImpl<>(teams, PageRequest.of(1, 2), 10), page);
+        UnknownFieldSet pageFields = UnknownFieldSet.parseFrom(page.toByteArray());
+        assertEquals(2, pageFields.getField(1).getLengthDelimitedList().size());
+        assertEquals(List.of(1L), pageFields.getField(2).getVarintList());
+        assertEquals(List.of(2L), pageFields.getField(3).getVarintList());
+        assertEquals(List.of(10L), pageFields.getField(4).getVarintList());
+        assertEquals(List.of(1L), pageFields.getField(5).getVarintList());
+
+        ByteArrayOutputStream slice = new ByteArrayOutputStream();
+        TeamProtobufCodec.writeTeamPage(new SliceImpl<>(teams, PageRequest.of(0, 2), false), slice);
+        UnknownFieldSet sliceFields = UnknownFieldSet.parseFrom(slice.toByteArray());
+        assertFalse(sliceFields.hasField(2));
+        assertFalse(sliceFields.hasField(4));
+        assertFalse(sliceFields.hasField(5));
+        assertEquals("TeamA", string(UnknownFieldSet.parseFrom(sliceFields.getField(1).getLengthDelimitedList().get(0)), 1));
+    }
+
+    /**
+     * Test that a keyset slice carries the cursor of the next slice.
+     *
+     * @throws IOException if the slice cannot be encoded.
+     */
+    @Test
+    void testWriteTeamSlice() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        TeamProtobufCodec.writeTeamSlice(new TeamSliceDto(List.of(team("TeamA", "TMA", "1000")), 1, true, "bmV4dA"), output);
+
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(output.toByteArray());
+        assertEquals(1, fields.getField(1).getLengthDelimitedList().size());
+        assertEquals(List.of(1L), fields.getField(2).getVarintList());
+        assertEquals(List.of(1L), fields.getField(3).getVarintList());
+        assertEquals("bmV4dA", string(fields, 4));
+    }
+
+    /**
+     * Test that a team without players or budget is read with no player and a {@code null} budget, unknown fields
+     * being skipped, and that a budget which is not a number is rejected.
+     *
+     * @throws IOException if the team cannot be encoded or decoded.
+     */
+    @Test
+    void testReadTeam_MissingAndInvalidFields() throws IOException {
+        UnknownFieldSet withUnknownField = UnknownFieldSet.newBuilder()
+                .addField(1, UnknownFieldSet.Field.newBuilder().addLengthDelimited(ByteString.copyFromUtf8("TeamA")).build())
+                .addField(9, UnknownFieldSet.Field.newBuilder().addVarint(42).build())
+                .build();
+
+        TeamDto team = TeamProtobufCodec.readTeam(new ByteArrayInputStream(withUnknownField.toByteArray()));
+
+        assertEquals("TeamA", team.getName());
+        assertTrue(team.getPlayers().isEmpty());
+        assertNull(team.getBudget());
+
+        byte[] invalidBudget = UnknownFieldSet.newBuilder()
+                .addField(4, UnknownFieldSet.Field.newBuilder().addLengthDelimited(ByteString.copyFromUtf8("lots")).build())
+                .build().toByteArray();
+        assertThrows(InvalidProtocolBufferException.class,
+                () -> TeamProtobufCodec.readTeam(new ByteArrayInputStream(invalidBudget)));
+    }
+
+    private static byte[] write(TeamDto team) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TeamProtobufCodec.writeTeam(team, output);
+        return output.toByteArray();
+    }
+
+    private static String string(UnknownFieldSet fields, int number) {
+        return fields.getField(number).getLengthDelimitedList().get(0).toString(StandardCharsets.UTF_8);
+    }
+
+    private static TeamDto team(String name, String acronym, String budget, PlayerDto... players) {
+        TeamDto team = new TeamDto();
+        team.setName(name);
+        team.setAcronym(acronym);
+        team.setBudget(new BigDecimal(budget));
+        team.setPlayers(List.of(players));
+        return team;
+    }
+}
@@ -0,0 +1,60 @@
+package com.matawan.nicefc.config.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the {@code ReadYourWrites} class.
+ */
+public class ReadYourWritesTest {
+
+    /**
+     * Test that only the reads of the client that wrote, and the shared reads given a position, require a write.
+     */
+    @Test
+    void testRequiredLsn_ClientAndSharedReadsOnly() {
+        ReadYourWrites readYourWrites = new ReadYourWrites();
+        AtomicLong reportedLsn = new AtomicLong();
+
+        readYourWrites.begin(0, reportedLsn::set);
+        try {
+            readYourWrites.recordWrite(100);
+            assertEquals(100, reportedLsn.get());
+            assertEquals(100, readYourWrites.requiredLsn());
+            assertEquals(150, (long) readYourWrites.readAtLeast(150, readYourWrites::requiredLsn));
+        } finally {
+            readYourWrites.end();
+        }
+
+        assertEquals(100, readYourWrites.getLastWriteLsn());
+        assertEquals(0, readYourWrites.requiredLsn());
+        assertEquals(100, (long) readYourWrites.readAtLeast(100, readYourWrites::requiredLsn));
+        assertEquals(0, readYourWrites.requiredLsn());
+    }
+
+    /**
+     * Test that a task submitted on behalf of a client runs with the client's position on another thread.
+     *
+     * @throws Exception if the task fails.
+     */
+    @Test
+    void testDecorate_CarriesClientPosition() throws Exception {
+        ReadYourWrites readYourWrites = new ReadYourWrites();
+        AtomicLong seenLsn = new AtomicLong(-1);
+
+        readYourWrites.begin(42, lsn -> {});
+        Runnable task;
+        try {
+            task = readYourWrites.decorate(() -> seenLsn.set(readYourWrites.requiredLsn()));
+        } finally {
+            readYourWrites.end();
+        }
+        CompletableFuture.runAsync(task).get();
+
+        assertEquals(42, seenLsn.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.matawan.nicefc.config.startup;
+
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.repository.TeamRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the checkpoint and restore mode: stopping and starting the context runs the same lifecycle
+ * callbacks as a CRaC checkpoint and restore, without a JVM supporting CRaC.
+ */
+@SpringBootTest(properties = {
+        "nicefc.embedded.checkpoint-restore=true",
+        "spring.datasource.hikari.allow-pool-suspension=true",
+        "nicefc.embedded.data-directory=target/checkpoint-restore-pgdata"})
+@DirtiesContext
+public class CheckpointRestoreIntegrationTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private EmbeddedPostgresCheckpointRestoreLifecycle embeddedPostgresCheckpointRestore;
+
+    @Autowired
+    private HikariDataSource pool;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    /**
+     * Test that the pool and the embedded instance release their resources when stopped, and serve the same data
+     * once started again.
+     */
+    @Test
+    void testStopAndStart_ResourcesReopened() {
+        Team team = new Team();
+        team.setName("Checkpoint " + System.nanoTime() % 1_000_000_000);
+        team.setAcronym("CKP");
+        team.setBudget(BigDecimal.TEN);
+        teamRepository.save(team);
+
+        context.stop();
+        assertFalse(embeddedPostgresCheckpointRestore.isRunning());
+        assertEquals(0, pool.getHikariPoolMXBean().getTotalConnections());
+
+        context.start();
+        assertTrue(embeddedPostgresCheckpointRestore.isRunning());
+        assertTrue(teamRepository.existsByName(team.getName()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.matawan.nicefc.config.startup;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@code EmbeddedPostgresCheckpointRestoreLifecycle} class.
+ */
+public class EmbeddedPostgresCheckpointRestoreLifecycleTest {
+
+    @TempDir
+    private Path dataDirectory;
+
+    /**
+     * Test that the instance is restarted on the same port and keeps its data across a stop and a start.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testStopAndStart_SamePortAndData() throws Exception {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().setDataDirectory(dataDirectory).setCleanDataDirectory(false).start();
+        EmbeddedPostgresCheckpointRestoreLifecycle lifecycle = new EmbeddedPostgresCheckpointRestoreLifecycle(postgres, dataDirectory);
+        try {
+            new JdbcTemplate(postgres.getPostgresDatabase()).execute("create table checkpoint_test as select 42 as answer");
+
+            lifecycle.stop();
+            assertFalse(lifecycle.isRunning());
+            assertThrows(Exception.class, () -> new JdbcTemplate(postgres.getPostgresDatabase()).execute("select 1"));
+
+            lifecycle.start();
+            assertTrue(lifecycle.isRunning());
+            assertEquals(postgres.getPort(), lifecycle.getInstance().getPort());
+            assertEquals(42, new JdbcTemplate(lifecycle.getInstance().getPostgresDatabase())
+                    .queryForObject("select answer from checkpoint_test", Integer.class));
+        } finally {
+            lifecycle.stop();
+        }
+    }
+
+    /**
+     * Test that an instance on a temporary data directory, deleted when it stops, is rejected.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testConstructor_TemporaryDataDirectory() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            assertThrows(IllegalStateException.class, () -> new EmbeddedPostgresCheckpointRestoreLifecycle(postgres, null));
+        }
+    }
+}
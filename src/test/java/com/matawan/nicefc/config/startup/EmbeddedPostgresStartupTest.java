@@ -0,0 +1,133 @@
+package com.matawan.nicefc.config.startup;
+
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@code EmbeddedPostgresStartup} and {@code SchemaMigrationStrategy} classes on a persistent data directory,
+ * and for the baseline of a schema created before the migrations.
+ */
+public class EmbeddedPostgresStartupTest {
+
+    @TempDir
+    private Path dataDirectory;
+
+    /**
+     * Test that a second launch on the same data directory reuses the cluster and skips the unchanged migrations.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testStartup_PersistentDataDirectory() throws Exception {
+        MockEnvironment environment = new MockEnvironment().withProperty("nicefc.embedded.data-directory", dataDirectory.toString());
+
+        EmbeddedPostgresStartup first = EmbeddedPostgresStartup.begin(environment);
+        try (EmbeddedPostgres postgres = first.await()) {
+            SchemaMigrationStrategy migration = migrate(first, postgres);
+            assertFalse(first.isInitdbSkipped());
+            assertEquals("1 applied, schema at version 1", migration.getOutcome());
+            assertTrue(Files.exists(dataDirectory.resolve(SchemaMigrationStrategy.FINGERPRINT_FILE)));
+        }
+
+        EmbeddedPostgresStartup second = EmbeddedPostgresStartup.begin(environment);
+        try (EmbeddedPostgres postgres = second.await()) {
+            SchemaMigrationStrategy migration = migrate(second, postgres);
+            assertTrue(second.isInitdbSkipped());
+            assertEquals("skipped, scripts unchanged", migration.getOutcome());
+            assertEquals(1, Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().info().applied().length);
+        }
+    }
+
+    /**
+     * Test that a schema created by Hibernate, without migration history, is baselined below the first migration and
+     * completed by it: sequences in blocks of 50, the named unique constraint and the indexes.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testMigrate_BaselinesSchemaCreatedByHibernate() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create sequence team_seq start with 1 increment by 1");
+            statement.execute("create sequence player_seq start with 1 increment by 1");
+            statement.execute("create table team (id bigint not null, acronym varchar(255), budget numeric(38,2), "
+                    + "name varchar(255), primary key (id), constraint uk8tjfd1r0k0gq5gaa1k8bbpehu unique (name))");
+            statement.execute("create table player (id bigint not null, name varchar(255), position varchar(255), "
+                    + "team_id bigint, primary key (id), constraint fk8hfmt1d3lx0x2rlsefvyyu1kd foreign key (team_id) references team)");
+
+            Flyway.configure().dataSource(postgres.getPostgresDatabase())
+                    .baselineOnMigrate(true).baselineVersion("0").load().migrate();
+
+            assertEquals(50, queryLong(statement, "select increment_by from pg_sequences where sequencename = 'team_seq'"));
+            assertEquals(50, queryLong(statement, "select increment_by from pg_sequences where sequencename = 'player_seq'"));
+            assertEquals(1, queryLong(statement, "select count(*) from pg_constraint where conrelid = 'team'::regclass and contype = 'u'"));
+            assertEquals(1, queryLong(statement, "select count(*) from pg_constraint where conname = 'uk_team_name'"));
+            assertEquals(1, queryLong(statement, "select count(*) from pg_constraint where conrelid = 'player'::regclass and contype = 'f'"));
+            assertEquals(4, queryLong(statement, "select count(*) from pg_indexes where indexname in "
+                    + "('idx_team_name_id', 'idx_team_acronym_id', 'idx_team_budget_id', 'idx_player_team_id')"));
+        }
+    }
+
+    /**
+     * Test that a schema whose identifiers were assigned by identity columns, as Hibernate created it before the
+     * pooled sequences, is migrated with sequences handing out identifiers after those already in use.
+     *
+     * @throws Exception if the embedded instance cannot be started or queried.
+     */
+    @Test
+    void testMigrate_MovesSequencesPastExistingIdentifiers() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table team (id bigint generated by default as identity, acronym varchar(255), "
+                    + "budget numeric(38,2), name varchar(255), primary key (id), constraint uk8tjfd1r0k0gq5gaa1k8bbpehu unique (name))");
+            statement.execute("create table player (id bigint generated by default as identity, name varchar(255), "
+                    + "position varchar(255), team_id bigint, primary key (id), "
+                    + "constraint fk8hfmt1d3lx0x2rlsefvyyu1kd foreign key (team_id) references team)");
+            for (int i = 1; i <= 3; i++) {
+                statement.execute("insert into team (acronym, budget, name) values ('LGC', 1000, 'Legacy" + i + "')");
+            }
+            for (int i = 1; i <= 70; i++) {
+                statement.execute("insert into player (name, position, team_id) values ('Player" + i + "', 'ST', 1)");
+            }
+
+            Flyway.configure().dataSource(postgres.getPostgresDatabase())
+                    .baselineOnMigrate(true).baselineVersion("0").load().migrate();
+
+            // the pooled optimizer hands out the 50 identifiers up to the value it reads
+            assertEquals(4, queryLong(statement, "select nextval('team_seq') - 49"));
+            assertEquals(71, queryLong(statement, "select nextval('player_seq') - 49"));
+        }
+    }
+
+    private static long queryLong(Statement statement, String query) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static SchemaMigrationStrategy migrate(EmbeddedPostgresStartup startup, EmbeddedPostgres postgres) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton(EmbeddedPostgresStartupInitializer.BEAN_NAME, startup);
+        SchemaMigrationStrategy migration = new SchemaMigrationStrategy(beanFactory.getBeanProvider(EmbeddedPostgresStartup.class));
+        migration.migrate(Flyway.configure().dataSource(postgres.getPostgresDatabase()).load());
+        return migration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.matawan.nicefc.config.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the startup of the application: the schema created by the migrations must match the entity
+ * mappings, which Hibernate validates here only, and the duration of each startup phase must be reported.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+public class StartupTimingsReporterIntegrationTest {
+
+    @Autowired
+    private StartupTimingsReporter startupTimingsReporter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Test that the embedded instance, the schema migration and the whole startup are timed once the application is ready.
+     */
+    @Test
+    void testStartupPhases_Reported() {
+        assertTrue(startupTimingsReporter.getPhases().keySet().containsAll(
+                List.of("embedded-postgres", "embedded-postgres-wait", "schema-migration", "ready")));
+        assertTrue(meterRegistry.get("nicefc.startup.phase").tag("phase", "ready").timeGauge().value(TimeUnit.MILLISECONDS) > 0);
+    }
+}
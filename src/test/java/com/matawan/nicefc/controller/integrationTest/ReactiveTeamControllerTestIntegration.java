@@ -0,0 +1,129 @@
+package com.matawan.nicefc.controller.integrationTest;
+
+import com.matawan.nicefc.dto.TeamDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@code ReactiveTeamController} class, served by WebFlux on R2DBC
+ * under the {@code reactive} profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+public class ReactiveTeamControllerTestIntegration {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /**
+     * Test for adding a team with its players, then reading it back from the streamed listing.
+     */
+    @Test
+    void testAddTeam_ThenStreamTeams() {
+        webTestClient.post().uri("/api/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"ReactiveFc\",\"acronym\":\"RFC\",\"budget\":100000," +
+                        "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}," +
+                        "{\"name\":\"Player2\",\"position\":\"CM\"}]}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        List<TeamDto> teams = webTestClient.get().uri("/api/teams?size=1000&sortBy=name")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TeamDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        TeamDto team = teams.stream().filter(teamDto -> teamDto.getName().equals("ReactiveFc")).findFirst().orElseThrow();
+        assertEquals(List.of("Player1", "Player2"), team.getPlayers().stream().map(player -> player.getName()).toList());
+    }
+
+    /**
+     * Test for attempting to add a team with a name that already exists.
+     */
+    @Test
+    void testAddTeam_TeamAlreadyExists() {
+        String team = "{\"name\":\"ReactiveDup\",\"acronym\":\"RDP\",\"budget\":100000}";
+        webTestClient.post().uri("/api/teams").contentType(MediaType.APPLICATION_JSON).bodyValue(team)
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.post().uri("/api/teams").contentType(MediaType.APPLICATION_JSON).bodyValue(team)
+                .exchange()
+                .expectStatus().isFound()
+                .expectBody(String.class).isEqualTo("team already registered");
+    }
+
+    /**
+     * Test for adding a team with an invalid name.
+     */
+    @Test
+    void testAddTeam_ValidationError() {
+        webTestClient.post().uri("/api/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"R\",\"acronym\":\"RFC\",\"budget\":100000}")
+                .exchange()
+                .expectStatus().isFound()
+                .expectBody().jsonPath("$[0]").isEqualTo("name");
+    }
+
+    /**
+     * Test for retrieving a page of teams as JSON, with the same shape as the servlet stack.
+     */
+    @Test
+    void testGetTeams() {
+        webTestClient.post().uri("/api/teams").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"ReactivePage\",\"acronym\":\"RPG\",\"budget\":100000}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        webTestClient.get().uri("/api/teams?page=0&size=5&sortBy=budget")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content").isArray()
+                .jsonPath("$.totalElements").value(total -> assertTrue(((Number) total).longValue() > 0));
+
+        webTestClient.get().uri("/api/teams?sortBy=invalid")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    /**
+     * Test for walking through the teams with keyset pagination.
+     */
+    @Test
+    void testGetTeamsByCursor() {
+        for (int i = 1; i <= 3; i++) {
+            webTestClient.post().uri("/api/teams").contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue("{\"name\":\"ReactiveCursor" + i + "\",\"acronym\":\"RCR\",\"budget\":100000}")
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        webTestClient.get().uri("/api/teams?cursor=&size=2&sortBy=acronym")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.hasNext").isEqualTo(true)
+                .jsonPath("$.nextCursor").isNotEmpty();
+
+        webTestClient.get().uri("/api/teams?cursor=invalid&size=2&sortBy=acronym")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,84 @@
+package com.matawan.nicefc.controller.integrationTest;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests checking the number of SQL statements issued by the {@code TeamController} listing.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class TeamControllerQueryCountIntegrationTest {
+
+    private static final int TEAM_COUNT = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Stores enough teams, each with a few players, to fill a page of 100 teams.
+     */
+    @BeforeEach
+    void setUp(){
+        for(int i = 0; i < TEAM_COUNT; i++){
+            String name = String.format("QueryCount%03d", i);
+            if(teamService.existsByName(name)) continue;
+            TeamDto teamDto = new TeamDto();
+            teamDto.setName(name);
+            teamDto.setAcronym("QCT");
+            teamDto.setBudget(BigDecimal.valueOf(1000 + i));
+            teamDto.setPlayers(List.of(new PlayerDto("Player1","ST"),
+                    new PlayerDto("Player2","CM"),
+                    new PlayerDto("Player3","CB")));
+            teamService.addTeam(teamDto);
+        }
+    }
+
+    /**
+     * Test that a page of 100 teams is loaded with a constant number of statements
+     * (ids page, count and players fetch) rather than one statement per team.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeams_PageOf100Teams_ConstantStatementCount() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("page",String.valueOf(0))
+                        .param("size",String.valueOf(TEAM_COUNT))
+                        .param("sortBy","name"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(TEAM_COUNT))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].players.length()").value(3));
+
+        long statementCount = statistics.getPrepareStatementCount();
+        assertTrue(statementCount <= 3, "expected at most 3 statements but was " + statementCount);
+    }
+}
@@ -1,24 +1,50 @@
 package com.matawan.nicefc.controller.integrationTest;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.UnknownFieldSet;
+import com.matawan.nicefc.config.metrics.SqlStatementMatchers;
+import com.matawan.nicefc.config.protobuf.TeamProtobufCodec;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
 import com.matawan.nicefc.exception.ValidationException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.protobuf.ProtobufHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Integration tests for the {@code TeamController} class.
+ * Every request fails when it runs more SQL statements than the budget of its endpoint.
  */
-@SpringBootTest
+@SpringBootTest(properties = {"nicefc.sql.budget.mode=fail", "nicefc.sql.budget.sample-rate=1"})
 @AutoConfigureMockMvc
 public class TeamControllerTestIntegration {
 
@@ -146,4 +172,390 @@ public class TeamControllerTestIntegration {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    /**
+     * Test for getting the first slice of teams with keyset pagination.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeamsByCursor_Success() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"monaco Fc\",\"acronym\":\"ASM\",\"budget\":100000," +
+                        "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}"));
+
+        // get the first slice with OK response Code
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("cursor","")
+                        .param("size",String.valueOf(10))
+                        .param("sortBy","acronym"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasNext").exists());
+    }
+
+    /**
+     * Test for walking the whole listing with keyset pagination: following {@code nextCursor} slice after slice
+     * returns every team exactly once, in acronym order across the slice boundaries, teams sharing an acronym
+     * being told apart by their id.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeamsByCursor_FollowNextCursor() throws Exception {
+        for(int i = 1; i <= 5; i++){
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Keyset" + i + "\",\"acronym\":\"KST\",\"budget\":100000," +
+                            "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}"))
+                    .andExpect(MockMvcResultMatchers.status().isCreated());
+        }
+        MvcResult pageResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("size",String.valueOf(1)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        long total = new ObjectMapper().readTree(pageResult.getResponse().getContentAsString()).get("totalElements").asLong();
+
+        List<String> names = new ArrayList<>();
+        List<String> acronyms = new ArrayList<>();
+        String cursor = "";
+        int slices = 0;
+        while(cursor != null){
+            MvcResult sliceResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                            .param("cursor",cursor)
+                            .param("size",String.valueOf(2))
+                            .param("sortBy","acronym"))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn();
+            JsonNode slice = new ObjectMapper().readTree(sliceResult.getResponse().getContentAsString());
+            for(JsonNode team : slice.get("content")){
+                names.add(team.get("name").asText());
+                acronyms.add(team.get("acronym").asText());
+            }
+            slices++;
+            assertEquals(slice.get("hasNext").asBoolean(), slice.hasNonNull("nextCursor"));
+            cursor = slice.hasNonNull("nextCursor") ? slice.get("nextCursor").asText() : null;
+        }
+
+        assertTrue(slices >= 3);
+        assertEquals(total, names.size());
+        assertEquals(names.size(), new HashSet<>(names).size());
+        assertTrue(names.containsAll(List.of("Keyset1", "Keyset2", "Keyset3", "Keyset4", "Keyset5")));
+        for(int i = 1; i < acronyms.size(); i++){
+            assertTrue(acronyms.get(i - 1).compareTo(acronyms.get(i)) <= 0,
+                    acronyms.get(i - 1) + " listed before " + acronyms.get(i));
+        }
+    }
+
+    /**
+     * Test for attempting to use the cursor of a listing sorted by acronym on a listing sorted by name.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeamsByCursor_CursorOfAnotherSort() throws Exception {
+        for(int i = 1; i <= 2; i++){
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"OtherSort" + i + "\",\"acronym\":\"OSR\",\"budget\":100000," +
+                            "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}"));
+        }
+        MvcResult sliceResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("cursor","")
+                        .param("size",String.valueOf(1))
+                        .param("sortBy","acronym"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        String nextCursor = new ObjectMapper().readTree(sliceResult.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("cursor",nextCursor)
+                        .param("size",String.valueOf(1))
+                        .param("sortBy","name"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    /**
+     * Test for attempting to get Teams with a malformed cursor.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeamsByCursor_InvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("cursor","not-a-cursor")
+                        .param("size",String.valueOf(10))
+                        .param("sortBy","name"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    /**
+     * Test for getting Teams without the total count.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeamsWithoutCount_Success() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("page",String.valueOf(0))
+                        .param("size",String.valueOf(10))
+                        .param("sortBy","name")
+                        .param("count","false"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isArray())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist());
+    }
+
+    /**
+     * Test that creating a team with its players and listing it back stay within the SQL statement budgets
+     * of their endpoints, without running any statement once per team or per player.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testAddAndGetTeams_WithinSqlStatementBudget() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"lorient Fc\",\"acronym\":\"FCL\",\"budget\":100000," +
+                                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}," +
+                                "{\"name\":\"Player2\",\"position\":\"CM\"}," +
+                                "{\"name\":\"Player3\",\"position\":\"CB\"}]}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(SqlStatementMatchers.atMostStatements(5))
+                .andExpect(SqlStatementMatchers.noRepeatedStatements());
+
+        // the creation made the cached listings stale, so the teams and their players are read from the database
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("page",String.valueOf(0))
+                        .param("size",String.valueOf(20))
+                        .param("sortBy","acronym"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(SqlStatementMatchers.atMostStatements(3))
+                .andExpect(SqlStatementMatchers.noRepeatedStatements());
+    }
+
+    /**
+     * Test that a cached page of teams lists a team as soon as its creation has returned.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeams_CachedPageListsCreatedTeam() throws Exception {
+        // load the page into the cache
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("page",String.valueOf(0))
+                        .param("size",String.valueOf(1))
+                        .param("sortBy","budget"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"brest Fc\",\"acronym\":\"SB29\",\"budget\":0}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("page",String.valueOf(0))
+                        .param("size",String.valueOf(1))
+                        .param("sortBy","budget"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("brest Fc"));
+    }
+
+    /**
+     * Test that a client polling with the entity tag of its listing gets a 304 until a team is created.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetTeams_ConditionalRequest() throws Exception {
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("sortBy","name"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("sortBy","name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"metz Fc\",\"acronym\":\"FCM\",\"budget\":100000}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("sortBy","name")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    /**
+     * Test that a subscriber receives the created teams, and that a client reconnecting
+     * with the id of the last event it received only gets the teams created since.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testStreamTeamEvents_ResumeFromLastEventId() throws Exception {
+        MvcResult subscription = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams/events"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"rennes Fc\",\"acronym\":\"SRFC\",\"budget\":100000}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        String events = awaitContent(subscription, "rennes Fc");
+        assertTrue(events.contains("event:team-created"));
+        Matcher lastEventId = Pattern.compile("id:(\\S+)").matcher(events);
+        assertTrue(lastEventId.find());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"nantes Fc\",\"acronym\":\"FCN\",\"budget\":100000}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        MvcResult resumed = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams/events")
+                        .header("Last-Event-ID", lastEventId.group(1)))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String missedEvents = awaitContent(resumed, "nantes Fc");
+        assertFalse(missedEvents.contains("rennes Fc"));
+    }
+
+    /**
+     * Waits for a streamed response to contain the given text, and returns what was streamed so far.
+     */
+    private static String awaitContent(MvcResult mvcResult, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = mvcResult.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = mvcResult.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), "streamed: " + content);
+        return content;
+    }
+
+    /**
+     * Test for importing several teams at once.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testImportTeams_Success() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.post("/api/teams/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"lyon Fc\",\"acronym\":\"OL\",\"budget\":100000}," +
+                                "{\"name\":\"lens Fc\",\"acronym\":\"RCL\",\"budget\":100000," +
+                                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}]"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[0].status").value("INVALID"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.summary.received").value(2));
+    }
+
+    /**
+     * Test for streaming a page of teams and downloading the export of all teams.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testStreamAndExportTeams_Success() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Stream Fc\",\"acronym\":\"SFC\",\"budget\":100000," +
+                                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        MvcResult page = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("stream", "true")
+                        .param("size", "1")
+                        .param("sortBy", "acronym"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(page))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].players").isArray());
+
+        MvcResult export = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(export))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"teams.json\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.name == 'Stream Fc')].players[0].position").value("ST"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams/export").param("sortBy", "players"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    /**
+     * Test for adding a team encoded with Protocol Buffers and listing teams as CBOR, Smile and Protocol Buffers,
+     * JSON staying the encoding of clients accepting any type.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testAddAndGetTeams_BinaryFormats() throws Exception {
+        TeamDto team = new TeamDto();
+        team.setName("Binary Fc");
+        team.setAcronym("BFC");
+        team.setBudget(new BigDecimal("100000.50"));
+        team.setPlayers(List.of(new PlayerDto("Player1", "ST")));
+        ByteArrayOutputStream protobuf = new ByteArrayOutputStream();
+        TeamProtobufCodec.writeTeam(team, protobuf);
+
+        MvcResult created = mockMvc.perform(MockMvcRequestBuilders.post("/api/teams")
+                        .contentType(ProtobufHttpMessageConverter.PROTOBUF)
+                        .accept(ProtobufHttpMessageConverter.PROTOBUF)
+                        .content(protobuf.toByteArray()))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        assertEquals(team, TeamProtobufCodec.readTeam(new ByteArrayInputStream(created.getResponse().getContentAsByteArray())));
+
+        MvcResult cbor = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("size", "100")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn();
+        JsonNode cborPage = new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray());
+        assertTrue(cborPage.get("content").findValuesAsText("name").contains("Binary Fc"));
+
+        MvcResult smile = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("cursor", "")
+                        .accept(MediaType.valueOf("application/x-jackson-smile")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        assertTrue(new SmileMapper().readTree(smile.getResponse().getContentAsByteArray()).has("nextCursor"));
+
+        MvcResult protobufPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/teams")
+                        .param("size", "100")
+                        .accept(ProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(ProtobufHttpMessageConverter.PROTOBUF))
+                .andReturn();
+        UnknownFieldSet page = UnknownFieldSet.parseFrom(protobufPage.getResponse().getContentAsByteArray());
+        assertTrue(page.hasField(4), "total elements of the page");
+        assertEquals(cborPage.get("content").size(), page.getField(1).getLengthDelimitedList().size());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/teams").accept(MediaType.ALL))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
+    }
+
 }
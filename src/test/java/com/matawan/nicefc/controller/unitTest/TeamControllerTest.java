@@ -3,8 +3,13 @@ package com.matawan.nicefc.controller.unitTest;
 import com.matawan.nicefc.controller.TeamController;
 import com.matawan.nicefc.dto.PlayerDto;
 import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamListingVersionDto;
 import com.matawan.nicefc.exception.ValidationException;
+import com.matawan.nicefc.exception.teamAlreadyExistsException;
 import com.matawan.nicefc.repository.TeamRepository;
+import com.matawan.nicefc.service.TeamEventService;
+import com.matawan.nicefc.service.TeamExportService;
+import com.matawan.nicefc.service.TeamImportService;
 import com.matawan.nicefc.service.TeamService;
 import jakarta.validation.Validation;
 import jakarta.validation.ValidatorFactory;
@@ -16,15 +21,22 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.annotation.meta.When;
 import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,12 +48,28 @@ public class TeamControllerTest {
     @Mock
     private TeamService teamService;
 
+    @Mock
+    private TeamImportService teamImportService;
+
+    @Mock
+    private TeamEventService teamEventService;
+
+    @Mock
+    private TeamExportService teamExportService;
+
     @InjectMocks
     private TeamController teamController;
 
 
     private BindingResult bindingResult;
 
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private ServletWebRequest webRequest;
+
+    private final TeamListingVersionDto version = new TeamListingVersionDto("W/\"1-0\"", 1700000000000L);
 
     /**
      * Sets up the {@code Validator} instance before each test method.
@@ -49,6 +77,9 @@ public class TeamControllerTest {
     @BeforeEach
     void setUp(){
         bindingResult = mock(BindingResult.class);;
+        request = new MockHttpServletRequest("GET", "/api/teams");
+        response = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(request, response);
     }
 
     /**
@@ -69,11 +100,9 @@ public class TeamControllerTest {
 
         when(bindingResult.hasErrors()).thenReturn(false);
 
-        when(teamService.existsByName("nice FC")).thenReturn(false);
-
         ResponseEntity<TeamDto> responseEntity = teamController.addTeam(teamDto, bindingResult);
 
-        verify(teamService,times(1)).existsByName(teamDto.getName());
+        verify(teamService,never()).existsByName(teamDto.getName());
         verify(teamService,times(1)).addTeam(teamDto);
 
         assertEquals(HttpStatus.CREATED,responseEntity.getStatusCode());
@@ -120,13 +149,13 @@ public class TeamControllerTest {
         teamDto.setPlayers(List.of(playerDto1,playerDto2,playerDto3));
 
         when(bindingResult.hasErrors()).thenReturn(false);
+        doNothing().doThrow(new teamAlreadyExistsException("team already registered"))
+                .when(teamService).addTeam(teamDto);
 
         teamController.addTeam(teamDto, bindingResult);
-        try {
-            teamController.addTeam(teamDto, bindingResult);
-        } catch (ValidationException e) {
-            assertEquals("team already registered", e.getMessage());
-        }
+        teamAlreadyExistsException e = assertThrows(teamAlreadyExistsException.class,
+                () -> teamController.addTeam(teamDto, bindingResult));
+        assertEquals("team already registered", e.getMessage());
     }
 
     /**
@@ -139,9 +168,10 @@ public class TeamControllerTest {
         String sortBy = "acronym";
 
         Page<TeamDto> teamsDto = mock(Page.class);
+        when(teamService.getListingVersion()).thenReturn(version);
         when(teamService.getTeams(page, size, sortBy)).thenReturn(teamsDto);
 
-        ResponseEntity<?> responseEntity = teamController.getTeams(page, size, sortBy);
+        ResponseEntity<?> responseEntity = teamController.getTeams(page, size, sortBy, true, webRequest);
 
         verify(teamService, times(1)).getTeams(page, size, sortBy);
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
@@ -158,9 +188,90 @@ public class TeamControllerTest {
 
         Page<TeamDto> teamsDto = mock(Page.class);
 
-        ResponseEntity<?> responseEntity = teamController.getTeams(page, size, sortBy);
+        ResponseEntity<?> responseEntity = teamController.getTeams(page, size, sortBy, true, webRequest);
 
         assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
     }
 
+    /**
+     * Test for getting teams without the total count.
+     */
+    @Test
+    void testGetTeamsWithoutCount_Success() {
+        int page = 0;
+        int size = 10;
+        String sortBy = "name";
+
+        Slice<TeamDto> teamsDto = mock(Slice.class);
+        when(teamService.getListingVersion()).thenReturn(version);
+        when(teamService.getTeamsWithoutCount(page, size, sortBy)).thenReturn(teamsDto);
+
+        ResponseEntity<?> responseEntity = teamController.getTeams(page, size, sortBy, false, webRequest);
+
+        verify(teamService, times(1)).getTeamsWithoutCount(page, size, sortBy);
+        verify(teamService, never()).getTeams(page, size, sortBy);
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    }
+
+    /**
+     * Test that a client already holding the current listing gets a 304 without any team being read.
+     */
+    @Test
+    void testGetTeams_NotModified() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, version.getEtag());
+        when(teamService.getListingVersion()).thenReturn(version);
+
+        ResponseEntity<?> responseEntity = teamController.getTeams(0, 10, "name", true, webRequest);
+
+        assertNull(responseEntity);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+        assertEquals(version.getEtag(), response.getHeader(HttpHeaders.ETAG));
+        verify(teamService, never()).getTeams(anyInt(), anyInt(), anyString());
+    }
+
+    /**
+     * Test that an export sorted by a non-valid field is rejected before any team is read.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testExportTeamsSortedByPlayers_failed() throws Exception {
+        ResponseEntity<?> responseEntity = teamController.exportTeams("players");
+
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        verify(teamExportService, never()).exportTeams(anyString(), any());
+    }
+
+    /**
+     * Test that a negative page or an empty page size is rejected, for the paged and the streamed listings,
+     * before any team is read.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testGetAndStreamTeams_InvalidPageOrSize() throws Exception {
+        assertEquals(HttpStatus.BAD_REQUEST, teamController.getTeams(-1, 10, "name", true, webRequest).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teamController.getTeams(0, 0, "name", true, webRequest).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teamController.streamTeams(-1, 10, "name", webRequest).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teamController.streamTeams(0, -5, "name", webRequest).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, teamController.streamTeams(0, 0, "name", webRequest).getStatusCode());
+
+        verify(teamService, never()).getTeams(anyInt(), anyInt(), anyString());
+        verify(teamExportService, never()).writeTeams(anyInt(), anyInt(), anyString(), any());
+    }
+
+    /**
+     * Test that a keyset slice of no team, of a negative number of teams or of more teams than allowed is
+     * rejected before any team is read.
+     */
+    @Test
+    void testGetTeamsByCursor_InvalidSize() {
+        for(int size : new int[]{0, -1, 1001, Integer.MAX_VALUE}){
+            ResponseEntity<?> responseEntity = teamController.getTeamsByCursor("", size, "name", webRequest);
+
+            assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        }
+        verify(teamService, never()).getTeams(anyString(), anyInt(), anyString());
+    }
+
 }
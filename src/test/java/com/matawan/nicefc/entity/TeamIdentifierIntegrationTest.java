@@ -0,0 +1,107 @@
+package com.matawan.nicefc.entity;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamService;
+import com.opentable.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the pooled identifiers of the {@code Team} and {@code Player} entities, on a database
+ * created before them: its identifiers were assigned by identity columns, and the migration adopts it.
+ */
+@SpringBootTest
+public class TeamIdentifierIntegrationTest {
+
+    private static final int LEGACY_TEAMS = 3;
+    private static final int LEGACY_PLAYERS = 70;
+
+    private static EmbeddedPostgres legacyDatabase;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Starts a database holding teams and players stored by identity columns, and points the application at it.
+     *
+     * @param registry The registry of the application properties.
+     * @throws IOException  If the database cannot be started.
+     * @throws SQLException If the legacy schema cannot be created.
+     */
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        legacyDatabase = EmbeddedPostgres.builder().start();
+        try (Connection connection = legacyDatabase.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table team (id bigint generated by default as identity, acronym varchar(255), "
+                    + "budget numeric(38,2), name varchar(255), primary key (id), constraint uk8tjfd1r0k0gq5gaa1k8bbpehu unique (name))");
+            statement.execute("create table player (id bigint generated by default as identity, name varchar(255), "
+                    + "position varchar(255), team_id bigint, primary key (id), "
+                    + "constraint fk8hfmt1d3lx0x2rlsefvyyu1kd foreign key (team_id) references team)");
+            for (int i = 1; i <= LEGACY_TEAMS; i++) {
+                statement.execute("insert into team (acronym, budget, name) values ('LGC', 1000, 'Legacy" + i + "')");
+            }
+            for (int i = 1; i <= LEGACY_PLAYERS; i++) {
+                statement.execute("insert into player (name, position, team_id) values ('Player" + i + "', 'ST', 1)");
+            }
+        }
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + legacyDatabase.getPort() + "/postgres");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    /**
+     * Stops the legacy database.
+     *
+     * @throws IOException If the database cannot be stopped.
+     */
+    @AfterAll
+    static void stopLegacyDatabase() throws IOException {
+        legacyDatabase.close();
+    }
+
+    /**
+     * Test that teams and players created through the pooled sequences get identifiers after those already stored.
+     */
+    @Test
+    void testAddTeams_AfterLegacyIdentifiers() {
+        List<TeamDto> teams = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            TeamDto teamDto = new TeamDto();
+            teamDto.setName("Pooled" + i);
+            teamDto.setAcronym("PLD");
+            teamDto.setBudget(BigDecimal.valueOf(100000));
+            teamDto.setPlayers(List.of(new PlayerDto("Player1", "ST"), new PlayerDto("Player2", "GK")));
+            teams.add(teamDto);
+        }
+
+        teamService.addTeams(teams);
+
+        assertEquals(LEGACY_TEAMS + 2, jdbcTemplate.queryForObject("select count(*) from team", Long.class));
+        assertEquals(LEGACY_PLAYERS + 4, jdbcTemplate.queryForObject("select count(*) from player", Long.class));
+        assertTrue(jdbcTemplate.queryForObject("select min(id) from team where name like 'Pooled%'", Long.class) > LEGACY_TEAMS);
+        assertTrue(jdbcTemplate.queryForObject("select min(p.id) from player p join team t on t.id = p.team_id "
+                + "where t.name like 'Pooled%'", Long.class) > LEGACY_PLAYERS);
+    }
+}
@@ -0,0 +1,116 @@
+package com.matawan.nicefc.service.integrationTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamExportService;
+import com.matawan.nicefc.service.TeamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@code TeamExportService} class.
+ */
+@SpringBootTest
+public class teamExportServiceIntegrationTest {
+
+    @Autowired
+    private TeamExportService teamExportService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Stores a team with two players and a team without player, once for all tests of the context.
+     */
+    @BeforeEach
+    void setUp() {
+        if (!teamService.existsByName("ExportA")) {
+            teamService.addTeam(team("ExportA", "EXA", 1000, new PlayerDto("Player1", "GK"), new PlayerDto("Player2", "ST")));
+            teamService.addTeam(team("ExportB", "EXB", 2000));
+        }
+    }
+
+    /**
+     * Test that the export holds every team once, with its players, in the format of the listings.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testExportTeams_AllTeamsWithPlayers() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        int exported = teamExportService.exportTeams("name", output);
+
+        JsonNode teams = objectMapper.readTree(output.toByteArray());
+        assertEquals(exported, teams.size());
+        List<String> names = new ArrayList<>();
+        teams.forEach(team -> names.add(team.get("name").asText()));
+        assertEquals(names.stream().distinct().count(), names.size());
+
+        JsonNode teamA = find(teams, "ExportA");
+        assertNotNull(teamA);
+        assertEquals("EXA", teamA.get("acronym").asText());
+        assertEquals(0, new BigDecimal("1000").compareTo(teamA.get("budget").decimalValue()));
+        assertEquals(2, teamA.get("players").size());
+        assertEquals("Player1", teamA.get("players").get(0).get("name").asText());
+        assertEquals("GK", teamA.get("players").get(0).get("position").asText());
+
+        JsonNode teamB = find(teams, "ExportB");
+        assertNotNull(teamB);
+        assertTrue(teamB.get("players").isEmpty());
+    }
+
+    /**
+     * Test that a streamed page holds the same teams as the paged listing.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testWriteTeams_SamePageAsListing() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        int written = teamExportService.writeTeams(0, 5, "budget", output);
+
+        TeamDto[] streamed = objectMapper.readValue(output.toByteArray(), TeamDto[].class);
+        List<TeamDto> listed = teamService.getTeams(0, 5, "budget").getContent();
+        assertEquals(listed.size(), written);
+        for (int i = 0; i < written; i++) {
+            assertEquals(listed.get(i).getName(), streamed[i].getName());
+            assertEquals(listed.get(i).getPlayers().size(), streamed[i].getPlayers().size());
+        }
+    }
+
+    private TeamDto team(String name, String acronym, long budget, PlayerDto... players) {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName(name);
+        teamDto.setAcronym(acronym);
+        teamDto.setPlayers(List.of(players));
+        teamDto.setBudget(BigDecimal.valueOf(budget));
+        return teamDto;
+    }
+
+    private JsonNode find(JsonNode teams, String name) {
+        for (JsonNode team : teams) {
+            if (team.get("name").asText().equals(name)) {
+                return team;
+            }
+        }
+        return null;
+    }
+}
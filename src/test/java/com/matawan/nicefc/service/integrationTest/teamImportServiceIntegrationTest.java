@@ -0,0 +1,141 @@
+package com.matawan.nicefc.service.integrationTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.matawan.nicefc.dto.TeamImportSummaryDto;
+import com.matawan.nicefc.service.TeamImportService;
+import com.matawan.nicefc.service.Impl.TeamImportServiceImpl;
+import com.matawan.nicefc.service.TeamService;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for the {@code TeamImportService} class.
+ */
+@SpringBootTest(properties = "nicefc.import.chunk-size=2")
+public class teamImportServiceIntegrationTest {
+
+    @Autowired
+    private TeamImportService teamImportService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * Test for importing a JSON array mixing valid, invalid and duplicated teams over several chunks.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testImportTeams_JsonArray() throws Exception {
+        String body = "[" +
+                "{\"name\":\"ImportA\",\"acronym\":\"IMA\",\"budget\":1000," +
+                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"}]}," +
+                "{\"name\":\"I\",\"acronym\":\"IMB\",\"budget\":1000}," +
+                "{\"name\":\"ImportC\",\"acronym\":\"IMC\",\"budget\":1000," +
+                "\"players\":[{\"name\":\"P\",\"position\":\"ST\"}]}," +
+                "{\"name\":\"ImportD\",\"acronym\":\"IMD\",\"budget\":1000}," +
+                "{\"name\":\"ImportA\",\"acronym\":\"IMA\",\"budget\":1000}," +
+                "{\"name\":\"ImportE\",\"acronym\":\"IME\",\"budget\":\"not a number\"}" +
+                "]";
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        TeamImportSummaryDto summary = teamImportService.importTeams(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertEquals(6, summary.getReceived());
+        assertEquals(2, summary.getCreated());
+        assertEquals(4, summary.getRejected());
+        assertTrue(teamService.existsByName("ImportA"));
+        assertTrue(teamService.existsByName("ImportD"));
+
+        JsonNode reportJson = objectMapper.readTree(report.toByteArray());
+        assertEquals(6, reportJson.get("results").size());
+        for(int i = 0; i < 6; i++){
+            assertEquals(i, reportJson.get("results").get(i).get("index").asInt());
+        }
+        assertEquals("INVALID", reportJson.get("results").get(1).get("status").asText());
+        assertEquals("CREATED", reportJson.get("results").get(3).get("status").asText());
+        assertEquals("DUPLICATE", reportJson.get("results").get(4).get("status").asText());
+        assertEquals(2, reportJson.get("summary").get("created").asInt());
+    }
+
+    /**
+     * Test for importing newline-delimited JSON ending with a malformed line.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testImportTeams_NdjsonWithMalformedLine() throws Exception {
+        String body = "{\"name\":\"NdjsonA\",\"acronym\":\"NDA\",\"budget\":1000}\n" +
+                "{\"name\":\"NdjsonB\",\"acronym\":\"NDB\",\"budget\":1000}\n" +
+                "{\"name\":\"NdjsonC\",\n";
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        TeamImportSummaryDto summary = teamImportService.importTeams(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertEquals(2, summary.getCreated());
+        assertTrue(teamService.existsByName("NdjsonB"));
+        assertTrue(objectMapper.readTree(report.toByteArray()).has("error"));
+    }
+
+    /**
+     * Test that a team holding a {@code null} player is reported as invalid, in the middle of an upload of several
+     * chunks, without stopping the import.
+     *
+     * @throws Exception if any error occurs during the test.
+     */
+    @Test
+    void testImportTeams_NullPlayer() throws Exception {
+        String body = "[" +
+                "{\"name\":\"NullPlayerA\",\"acronym\":\"NPA\",\"budget\":1000}," +
+                "{\"name\":\"NullPlayerB\",\"acronym\":\"NPB\",\"budget\":1000}," +
+                "{\"name\":\"NullPlayerC\",\"acronym\":\"NPC\",\"budget\":1000," +
+                "\"players\":[{\"name\":\"Player1\",\"position\":\"ST\"},null]}," +
+                "{\"name\":\"NullPlayerD\",\"acronym\":\"NPD\",\"budget\":1000}," +
+                "{\"name\":\"NullPlayerE\",\"acronym\":\"NPE\",\"budget\":1000}" +
+                "]";
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+
+        TeamImportSummaryDto summary = teamImportService.importTeams(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), report);
+
+        assertEquals(5, summary.getReceived());
+        assertEquals(4, summary.getCreated());
+        assertEquals(1, summary.getRejected());
+        assertTrue(teamService.existsByName("NullPlayerE"));
+
+        JsonNode reportJson = objectMapper.readTree(report.toByteArray());
+        assertEquals(5, reportJson.get("results").size());
+        JsonNode rejected = reportJson.get("results").get(2);
+        assertEquals("INVALID", rejected.get("status").asText());
+        assertEquals("players[1]", rejected.get("errors").get(0).asText());
+        assertEquals(4, reportJson.get("summary").get("created").asInt());
+    }
+
+    /**
+     * Test that a chunk size less than 1 is rejected when the service is built.
+     */
+    @Test
+    void testConstructor_InvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TeamImportServiceImpl(teamService, objectMapper, validator, 0));
+    }
+}
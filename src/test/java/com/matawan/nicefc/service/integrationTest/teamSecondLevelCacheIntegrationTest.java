@@ -0,0 +1,116 @@
+package com.matawan.nicefc.service.integrationTest;
+
+import com.matawan.nicefc.cache.HibernateCacheEndpoint;
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.repository.TeamRepository;
+import com.matawan.nicefc.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests checking that teams, their players and the cacheable queries are served
+ * from the Hibernate second-level and query caches.
+ */
+@SpringBootTest
+public class teamSecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Sets up the statistics and the read-only transactions before each test method.
+     */
+    @BeforeEach
+    void setUp(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Test that a team and its players are loaded from the database once, then from the second-level cache.
+     */
+    @Test
+    void testFindById_TeamAndPlayersCached() {
+        teamService.addTeam(teamWithPlayers("CachedTeam"));
+        Long teamId = readOnlyTransaction.execute(status -> teamRepository.findAll().stream()
+                .filter(team -> team.getName().equals("CachedTeam"))
+                .findFirst().map(Team::getId).orElseThrow());
+        readOnlyTransaction.execute(status -> teamRepository.findById(teamId).orElseThrow().getPlayers().size());
+        hibernateCacheEndpoint.reset();
+
+        int playerCount = readOnlyTransaction.execute(
+                status -> teamRepository.findById(teamId).orElseThrow().getPlayers().size());
+
+        assertEquals(3, playerCount);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        // the team, its player collection and its 3 players
+        assertEquals(5, statistics.getSecondLevelCacheHitCount());
+    }
+
+    /**
+     * Test that a repeated existence check is answered by the query cache, until a team is added.
+     */
+    @Test
+    void testExistsByName_QueryCached() {
+        teamRepository.existsByName("QueryCachedTeam");
+        hibernateCacheEndpoint.reset();
+
+        assertFalse(teamRepository.existsByName("QueryCachedTeam"));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        teamService.addTeam(teamWithPlayers("QueryCachedTeam"));
+        assertTrue(teamRepository.existsByName("QueryCachedTeam"));
+
+        Map<String, Object> report = hibernateCacheEndpoint.statistics();
+        assertEquals(1L, report.get("roundTripsSaved"));
+    }
+
+    private static TeamDto teamWithPlayers(String name) {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName(name);
+        teamDto.setAcronym("CHT");
+        teamDto.setBudget(BigDecimal.valueOf(1500.0));
+        List<PlayerDto> players = new ArrayList<>();
+        for(int i = 0; i < 3; i++){
+            players.add(new PlayerDto("Player" + i, "ST"));
+        }
+        teamDto.setPlayers(players);
+        return teamDto;
+    }
+}
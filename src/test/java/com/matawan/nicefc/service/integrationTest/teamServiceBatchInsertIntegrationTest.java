@@ -0,0 +1,63 @@
+package com.matawan.nicefc.service.integrationTest;
+
+import com.matawan.nicefc.dto.PlayerDto;
+import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests checking that the {@code TeamService} stores a team and its players with batched inserts.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class teamServiceBatchInsertIntegrationTest {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Test that a team with 30 players is stored with a constant number of statements
+     * (one batched insert per table, plus the occasional sequence call) rather than 31 inserts.
+     */
+    @Test
+    void testAddTeam_With30Players_BatchedInserts() {
+        // the first team initializes the pooled sequence ranges
+        teamService.addTeam(teamWith30Players("BatchTeamWarmup"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        teamService.addTeam(teamWith30Players("BatchTeam"));
+
+        assertEquals(31, statistics.getEntityInsertCount());
+        long statementCount = statistics.getPrepareStatementCount();
+        assertTrue(statementCount <= 4, "expected at most 4 statements but was " + statementCount);
+    }
+
+    private static TeamDto teamWith30Players(String name) {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName(name);
+        teamDto.setAcronym("BTC");
+        teamDto.setBudget(BigDecimal.valueOf(1500.0));
+        List<PlayerDto> players = new ArrayList<>();
+        for(int i = 0; i < 30; i++){
+            players.add(new PlayerDto("Player" + i, "ST"));
+        }
+        teamDto.setPlayers(players);
+        return teamDto;
+    }
+}
@@ -1,6 +1,11 @@
 package com.matawan.nicefc.service.integrationTest;
 
+import com.matawan.nicefc.cache.TeamNameFilter;
 import com.matawan.nicefc.dto.TeamDto;
+import com.matawan.nicefc.dto.TeamSliceDto;
+import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.exception.teamAlreadyExistsException;
+import com.matawan.nicefc.repository.TeamRepository;
 import com.matawan.nicefc.service.TeamService;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
@@ -9,8 +14,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -23,6 +34,12 @@ public class teamServiceIntegrationTest {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamNameFilter teamNameFilter;
+
     /**
      * Test for adding a team and checking if it exists.
      */
@@ -61,6 +78,23 @@ public class teamServiceIntegrationTest {
         assertFalse(teamService.existsByName("NonExistingTeam"));
     }
 
+    /**
+     * Test that a team stored without going through the service is found once the name filter is rebuilt.
+     */
+    @Test
+    void testExistsByName_AfterFilterRebuild() {
+        Team team = new Team();
+        team.setName("DirectTeam");
+        team.setAcronym("DRT");
+        team.setBudget(BigDecimal.valueOf(1500.0));
+        teamRepository.save(team);
+
+        teamNameFilter.rebuild();
+
+        assertTrue(teamService.existsByName("DirectTeam"));
+        assertEquals(Set.of("DirectTeam"), teamService.findExistingNames(List.of("DirectTeam", "MissingTeam")));
+    }
+
     /**
      * Test for retrieving teams with valid parameters.
      */
@@ -93,4 +127,65 @@ public class teamServiceIntegrationTest {
         assertTrue(result.getTotalElements() > 0);
     }
 
+    /**
+     * Test for adding a team whose name is already registered.
+     */
+    @Test
+    void testAddTeam_DuplicatedName() {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName("DuplicatedTeam");
+        teamDto.setAcronym("DPT");
+        teamDto.setBudget(BigDecimal.valueOf(1500.0));
+        teamService.addTeam(teamDto);
+
+        assertThrows(teamAlreadyExistsException.class, () -> teamService.addTeam(teamDto));
+    }
+
+    /**
+     * Test for finding the registered names among several names with a single query.
+     */
+    @Test
+    void testFindExistingNames() {
+        TeamDto teamDto = new TeamDto();
+        teamDto.setName("ExistingTeam");
+        teamDto.setAcronym("EXT");
+        teamDto.setBudget(BigDecimal.valueOf(1500.0));
+        teamService.addTeam(teamDto);
+
+        Set<String> existingNames = teamService.findExistingNames(List.of("ExistingTeam", "MissingTeam"));
+
+        assertEquals(Set.of("ExistingTeam"), existingNames);
+    }
+
+    /**
+     * Test for walking through all teams with keyset pagination sorted by budget.
+     */
+    @Test
+    void testGetTeamsByCursor() {
+        for(int i = 1; i <= 3; i++){
+            TeamDto teamDto = new TeamDto();
+            teamDto.setName("CursorTeam" + i);
+            teamDto.setAcronym("CRS");
+            teamDto.setBudget(BigDecimal.valueOf(500.0));
+            teamService.addTeam(teamDto);
+        }
+
+        List<TeamDto> teams = new ArrayList<>();
+        String cursor = "";
+        TeamSliceDto slice;
+        do {
+            slice = teamService.getTeams(cursor, 2, "budget");
+            assertTrue(slice.getContent().size() <= 2);
+            teams.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (slice.isHasNext());
+
+        List<String> names = teams.stream().map(TeamDto::getName).toList();
+        assertEquals(names.size(), new HashSet<>(names).size());
+        assertTrue(names.containsAll(List.of("CursorTeam1", "CursorTeam2", "CursorTeam3")));
+        for(int i = 1; i < teams.size(); i++){
+            assertTrue(teams.get(i - 1).getBudget().compareTo(teams.get(i).getBudget()) <= 0);
+        }
+    }
+
 }
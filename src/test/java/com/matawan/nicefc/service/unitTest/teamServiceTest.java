@@ -1,7 +1,12 @@
 package com.matawan.nicefc.service.unitTest;
 
+import com.matawan.nicefc.cache.TeamCountCache;
+import com.matawan.nicefc.cache.TeamNameFilter;
+import com.matawan.nicefc.cache.TeamPageCache;
 import com.matawan.nicefc.dto.TeamDto;
 import com.matawan.nicefc.entity.Team;
+import com.matawan.nicefc.event.TeamCreatedEvent;
+import com.matawan.nicefc.repository.PlayerRepository;
 import com.matawan.nicefc.repository.TeamRepository;
 import com.matawan.nicefc.service.Impl.TeamServiceImpl;
 import com.matawan.nicefc.service.TeamService;
@@ -10,13 +15,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -28,6 +36,21 @@ public class teamServiceTest {
     @Mock
     private TeamRepository teamRepository;
 
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private TeamCountCache teamCountCache;
+
+    @Mock
+    private TeamNameFilter teamNameFilter;
+
+    @Mock
+    private TeamPageCache teamPageCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TeamServiceImpl teamService;
 
@@ -38,11 +61,14 @@ public class teamServiceTest {
     void testAddTeam() {
         TeamDto teamDto = new TeamDto();
         Team team = new Team();
-        mockStatic(TeamMapper.class);
-        when(TeamMapper.mapTeamDtoToTeam(teamDto)).thenReturn(team);
-        teamService.addTeam(teamDto);
+        try(MockedStatic<TeamMapper> teamMapper = mockStatic(TeamMapper.class)) {
+            teamMapper.when(() -> TeamMapper.mapTeamDtoToTeam(teamDto)).thenReturn(team);
+            teamService.addTeam(teamDto);
+        }
 
-        verify(teamRepository, times(1)).save(team);
+        verify(teamRepository, times(1)).saveAndFlush(team);
+        verify(teamNameFilter, times(1)).put(team.getName());
+        verify(eventPublisher, times(1)).publishEvent(any(TeamCreatedEvent.class));
     }
 
     /**
@@ -50,6 +76,7 @@ public class teamServiceTest {
      */
     @Test
     void testExistsByName_True() {
+        when(teamNameFilter.mightContain("TeamName")).thenReturn(true);
         when(teamRepository.existsByName("TeamName")).thenReturn(true);
 
         boolean result = teamService.existsByName("TeamName");
@@ -62,10 +89,25 @@ public class teamServiceTest {
      */
     @Test
     void testExistsByName_False() {
+        when(teamNameFilter.mightContain("TeamName")).thenReturn(true);
         when(teamRepository.existsByName("TeamName")).thenReturn(false);
 
         boolean result = teamService.existsByName("TeamName");
 
         assertFalse(result);
+        verify(teamNameFilter, times(1)).falsePositives(1);
+    }
+
+    /**
+     * Test that a name ruled out by the name filter is reported as absent without querying the database.
+     */
+    @Test
+    void testExistsByName_RuledOutByFilter() {
+        when(teamNameFilter.mightContain("TeamName")).thenReturn(false);
+
+        boolean result = teamService.existsByName("TeamName");
+
+        assertFalse(result);
+        verify(teamRepository, never()).existsByName(any());
     }
 }
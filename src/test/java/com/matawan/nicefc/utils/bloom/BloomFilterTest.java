@@ -0,0 +1,61 @@
+package com.matawan.nicefc.utils.bloom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@code BloomFilter} class.
+ */
+public class BloomFilterTest {
+
+    private static final int NAMES = 100_000;
+
+    /**
+     * Test that every name put is reported as possibly present.
+     */
+    @Test
+    void testMightContain_NoFalseNegative() {
+        BloomFilter filter = new BloomFilter(NAMES, 0.01);
+        for (int i = 0; i < NAMES; i++) {
+            filter.put("Team" + i);
+        }
+
+        for (int i = 0; i < NAMES; i++) {
+            assertTrue(filter.mightContain("Team" + i));
+        }
+    }
+
+    /**
+     * Test that the observed false positive rate stays close to the configured one,
+     * and that the estimates of the filter agree with it.
+     */
+    @Test
+    void testMightContain_FalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(NAMES, 0.01);
+        for (int i = 0; i < NAMES; i++) {
+            filter.put("Team" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < NAMES; i++) {
+            if (filter.mightContain("Other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < NAMES * 0.015, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+        assertEquals(NAMES, filter.approximateElementCount(), NAMES * 0.02);
+        assertEquals(filter.bitCount() / 8, filter.memoryBytes());
+    }
+
+    /**
+     * Test that an invalid size is rejected.
+     */
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(NAMES, 1));
+    }
+}